@@ -0,0 +1,125 @@
+package tictactoe.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tictactoe.board.Board;
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+
+/**
+ * Board operations on an empty, a mid-game, a won and a tied position
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    private static final int[][] POSITIONS = {
+            {},
+            { 4, 0, 2 },
+            { 0, 3, 1, 4, 2 },
+            { 0, 1, 2, 4, 3, 5, 7, 6, 8 },
+    };
+
+    @Param({ "empty", "midgame", "won", "tied" })
+    public String position;
+
+    private Board board;
+    private Board scratch;
+    private Coordinate[] fullGame;
+    private int[] fullGameCells;
+    private Mark[] fullGameMarks;
+
+    @Setup
+    public void setUp() {
+        int index = java.util.Arrays.asList("empty", "midgame", "won", "tied").indexOf(position);
+        board = new Board();
+        scratch = new Board();
+        Mark mark = Mark.X;
+        for (int cell : POSITIONS[index]) {
+            board.setMark(cell, mark);
+            mark = mark.opponent();
+        }
+        int[] tie = POSITIONS[3];
+        fullGameCells = tie;
+        fullGame = new Coordinate[tie.length];
+        fullGameMarks = new Mark[tie.length];
+        for (int i = 0; i < tie.length; i++) {
+            fullGame[i] = Coordinate.ofCell(tie[i], 3);
+            fullGameMarks[i] = i % 2 == 0 ? Mark.X : Mark.O;
+        }
+    }
+
+    @Benchmark
+    public boolean hasWinner() {
+        return board.hasWinner();
+    }
+
+    @Benchmark
+    public Mark getWinner() {
+        return board.getWinner();
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return board.isGameOver();
+    }
+
+    @Benchmark
+    public Mark[][] getBoard() {
+        return board.getBoard();
+    }
+
+    /**
+     * Nine validated setMark calls on a reused board, checking the game state
+     * after each one as Turn does
+     */
+    @Benchmark
+    public void setMarkFullGame(Blackhole blackhole) {
+        scratch.reset();
+        for (int i = 0; i < fullGame.length; i++) {
+            scratch.setMark(fullGame[i], fullGameMarks[i]);
+            blackhole.consume(scratch.isGameOver());
+        }
+    }
+
+    /**
+     * The same game through the cell index overload, as Turn plays it
+     */
+    @Benchmark
+    public void setMarkCellFullGame(Blackhole blackhole) {
+        scratch.reset();
+        for (int i = 0; i < fullGameCells.length; i++) {
+            scratch.setMark(fullGameCells[i], fullGameMarks[i]);
+            blackhole.consume(scratch.isGameOver());
+        }
+    }
+
+    /**
+     * Walks the legal moves of the current position through the empty-square
+     * bitmask
+     */
+    @Benchmark
+    public int legalMoves() {
+        int sum = 0;
+        for (int cell = board.nextEmptyCell(0); cell >= 0; cell = board.nextEmptyCell(cell + 1)) {
+            sum += cell;
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,96 @@
+package tictactoe.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.board.Board;
+import tictactoe.board.BoardClassifier;
+import tictactoe.board.Mark;
+
+/**
+ * Positions classified per second on one core, in bulk and one board at a
+ * time; classifyParallel divided by the core count gives the per-core figure
+ * with every core busy
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassifierBenchmark {
+
+    private static final int POSITIONS = 1 << 20;
+
+    private int[] positions;
+    private byte[] outcomes;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        positions = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            // random legal-looking positions: each square empty, X or O
+            int x = 0;
+            int o = 0;
+            for (int cell = 0; cell < 9; cell++) {
+                int mark = random.nextInt(3);
+                x |= (mark == 1 ? 1 : 0) << cell;
+                o |= (mark == 2 ? 1 : 0) << cell;
+            }
+            positions[i] = BoardClassifier.pack(x, o);
+        }
+        outcomes = new byte[POSITIONS];
+        board = new Board();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public byte[] classify() {
+        BoardClassifier.classify(positions, outcomes);
+        return outcomes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public byte[] classifyParallel() {
+        BoardClassifier.classifyParallel(positions, outcomes);
+        return outcomes;
+    }
+
+    /**
+     * Baseline: replays every position on a Board and asks for the winner
+     */
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public byte[] boardPerPosition() {
+        for (int i = 0; i < POSITIONS; i++) {
+            board.reset();
+            int position = positions[i];
+            for (int cell = 0; cell < 9; cell++) {
+                if ((position & (1 << cell)) != 0) {
+                    board.placeMark(cell, Mark.X);
+                } else if ((position & (1 << (cell + 16))) != 0) {
+                    board.placeMark(cell, Mark.O);
+                }
+            }
+            Mark winner = board.getWinner();
+            outcomes[i] = winner == Mark.X ? BoardClassifier.X_WINS
+                    : winner == Mark.O ? BoardClassifier.O_WINS
+                            : board.isBoardFull() ? BoardClassifier.DRAW : BoardClassifier.ONGOING;
+        }
+        return outcomes;
+    }
+
+}
@@ -0,0 +1,51 @@
+package tictactoe.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+import tictactoe.turns.Turn;
+
+/**
+ * Complete random games through the real Turn loop, without console output
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+
+    private Player playerX;
+    private Player playerO;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        playerX = new Player(Mark.X, "X", new RandomMoveStrategy(1));
+        playerO = new Player(Mark.O, "O", new RandomMoveStrategy(2));
+        board = new Board();
+    }
+
+    @Benchmark
+    public Player randomGameThroughTurn() {
+        board.reset();
+        Turn turn = new Turn(playerX, playerO, board, GameObserver.NONE);
+        turn.play();
+        return turn.getWinner();
+    }
+
+}
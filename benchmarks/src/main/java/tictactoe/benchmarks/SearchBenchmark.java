@@ -0,0 +1,77 @@
+package tictactoe.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.ai.MctsStrategy;
+import tictactoe.ai.NegamaxStrategy;
+import tictactoe.ai.PerfectPlayStrategy;
+import tictactoe.ai.TranspositionTable;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+
+/**
+ * Move search from the empty board with each strategy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    private Board board;
+    private MnkBoard gomoku;
+    private TranspositionTable table;
+    private NegamaxStrategy negamax;
+    private PerfectPlayStrategy perfect;
+    private MctsStrategy mcts;
+
+    @Setup
+    public void setUp() {
+        board = new Board();
+        gomoku = new MnkBoard(9, 9, 5);
+        table = new TranspositionTable(1 << 16);
+        negamax = new NegamaxStrategy(table);
+        perfect = new PerfectPlayStrategy();
+        mcts = new MctsStrategy(1_000);
+    }
+
+    /**
+     * Full-depth search with a transposition table cleared before every move
+     */
+    @Benchmark
+    public int negamaxColdTable() {
+        table.clear();
+        return negamax.chooseMove(board, Mark.X);
+    }
+
+    /**
+     * Full-depth search reusing the transposition table of earlier moves
+     */
+    @Benchmark
+    public int negamaxWarmTable() {
+        return negamax.chooseMove(board, Mark.X);
+    }
+
+    @Benchmark
+    public int perfectPlayLookup() {
+        return perfect.chooseMove(board, Mark.X);
+    }
+
+    @Benchmark
+    public int mctsThousandPlayouts9x9() {
+        return mcts.chooseMove(gomoku, Mark.X);
+    }
+
+}
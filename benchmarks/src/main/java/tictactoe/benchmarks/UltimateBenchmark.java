@@ -0,0 +1,74 @@
+package tictactoe.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Mark;
+import tictactoe.board.UltimateBoard;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+import tictactoe.turns.Turn;
+
+/**
+ * Random ultimate tic-tac-toe games, straight on the legal move masks and
+ * through the real Turn loop
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UltimateBenchmark {
+
+    private SplittableRandom random;
+    private Player playerX;
+    private Player playerO;
+    private UltimateBoard board;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(1);
+        playerX = new Player(Mark.X, "X", new RandomMoveStrategy(1));
+        playerO = new Player(Mark.O, "O", new RandomMoveStrategy(2));
+        board = new UltimateBoard();
+    }
+
+    /**
+     * @return moves played, so the score times this is moves per second
+     */
+    @Benchmark
+    public int randomPlayout() {
+        board.reset();
+        Mark toMove = Mark.X;
+        while (!board.isGameOver()) {
+            int skip = random.nextInt(board.getLegalMoveCount());
+            int cell = board.nextEmptyCell(0);
+            while (skip-- > 0) {
+                cell = board.nextEmptyCell(cell + 1);
+            }
+            board.placeMark(cell, toMove);
+            toMove = toMove.opponent();
+        }
+        return board.getMoveCount();
+    }
+
+    @Benchmark
+    public Player randomGameThroughTurn() {
+        board.reset();
+        Turn turn = new Turn(playerX, playerO, board, GameObserver.NONE);
+        turn.play();
+        return turn.getWinner();
+    }
+
+}
@@ -2,31 +2,139 @@ package tictactoe;
 
 public class Game {
 
-    tictactoe.board.Board board;
+    tictactoe.board.GameBoard board;
     tictactoe.player.Player player1;
     tictactoe.player.Player player2;
     tictactoe.turns.Turn turn;
-    tictactoe.utilities.ConsoleUtils console = tictactoe.utilities.ConsoleUtils.getInstance();
+    tictactoe.turns.GameObserver observer;
 
     public Game() {
-        this.board = new tictactoe.board.Board();
-        this.player1 = new tictactoe.player.Player(tictactoe.board.Mark.X);
-        this.player2 = new tictactoe.player.Player(tictactoe.board.Mark.O);
-        this.turn = new tictactoe.turns.Turn(player1, player2, board);
+        this(new tictactoe.board.Board());
+    }
+
+    public Game(int rows, int cols, int winLength) {
+        this(new tictactoe.board.MnkBoard(rows, cols, winLength));
+    }
+
+    public Game(tictactoe.board.GameBoard board) {
+        this(new tictactoe.player.Player(tictactoe.board.Mark.X), new tictactoe.player.Player(tictactoe.board.Mark.O),
+                board, new tictactoe.turns.ConsoleGameObserver());
+    }
+
+    /**
+     * Creates a game with any players and observer, e.g. without console I/O
+     */
+    public Game(tictactoe.player.Player player1, tictactoe.player.Player player2, tictactoe.board.GameBoard board,
+            tictactoe.turns.GameObserver observer) {
+        this(player1, player2, board, observer, null);
+    }
+
+    /**
+     * Creates a game whose first player is drawn from the given generator, so
+     * it can be replayed with the same seed
+     */
+    public Game(tictactoe.player.Player player1, tictactoe.player.Player player2, tictactoe.board.GameBoard board,
+            tictactoe.turns.GameObserver observer, java.util.SplittableRandom random) {
+        this.board = board;
+        this.player1 = player1;
+        this.player2 = player2;
+        this.observer = observer;
+        this.turn = new tictactoe.turns.Turn(player1, player2, board, observer, random);
+    }
+
+    public tictactoe.board.GameBoard getBoard() {
+        return board;
+    }
+
+    public tictactoe.player.Player getPlayer1() {
+        return player1;
+    }
+
+    public tictactoe.player.Player getPlayer2() {
+        return player2;
+    }
+
+    public tictactoe.turns.Turn getTurn() {
+        return turn;
     }
 
     public void play() {
-        turn.play();
+        play(null);
+    }
+
+    /**
+     * Plays the game starting with the player of the given mark, or a random
+     * player if null
+     */
+    public void play(tictactoe.board.Mark firstMark) {
+        tictactoe.metrics.GameMetrics metrics = tictactoe.metrics.GameMetrics.getInstance();
+        boolean counted = metrics.isEnabled();
+        if (counted) {
+            metrics.gameStarted();
+        }
+        boolean ended = false;
+        try {
+            if (firstMark == null) {
+                turn.play();
+            } else {
+                turn.play(firstMark == player1.getMark() ? player1 : player2);
+            }
+            ended = !turn.isAbandoned();
+        } finally {
+            record(counted, ended);
+        }
+        if (ended) {
+            announceResult();
+        }
+    }
+
+    /**
+     * Goes on with a restored game from the player whose turn it was; it is
+     * counted as a started game again, since the process that suspended it
+     * never saw it finish
+     */
+    public void resume() {
+        tictactoe.metrics.GameMetrics metrics = tictactoe.metrics.GameMetrics.getInstance();
+        boolean counted = metrics.isEnabled();
+        if (counted) {
+            metrics.gameStarted();
+        }
+        boolean ended = false;
+        try {
+            turn.resume();
+            ended = !turn.isAbandoned();
+        } finally {
+            record(counted, ended);
+        }
+        if (ended) {
+            announceResult();
+        }
+    }
+
+    /**
+     * Closes the game in the metrics even when a player throws or has no move,
+     * so it does not stay in flight forever
+     */
+    private void record(boolean counted, boolean ended) {
+        if (!counted) {
+            return;
+        }
+        tictactoe.metrics.GameMetrics metrics = tictactoe.metrics.GameMetrics.getInstance();
+        if (ended) {
+            metrics.gameFinished(turn.isATie());
+        } else {
+            metrics.gameAborted();
+        }
+    }
+
+    private void announceResult() {
         if (turn.isATie()){
-            console.printSuccess("It's a tie!");
+            observer.gameTied();
             return;
         }
         
-        tictactoe.player.Player winner = turn.getWinner();
-        console.printSuccess("Player " + winner.getMark() + " wins!");
-        console.printSuccess("Player " + winner.getName() + " wins!");
-        console.printSuccess("Game over!");
+        observer.gameWon(turn.getWinner());
         
     }
 
-}
\ No newline at end of file
+}
@@ -2,7 +2,20 @@ package tictactoe;
 
 public class Main {
     public static void main(String[] args) {
-        Game game = new Game();
+        // java tictactoe.Main [rows cols winLength], e.g. 15 15 5 for Gomoku
+        // java tictactoe.Main ultimate plays ultimate tic-tac-toe
+        // -Dtictactoe.metrics=true publishes the game metrics over JMX
+        if (tictactoe.metrics.GameMetrics.getInstance().isEnabled()) {
+            tictactoe.metrics.GameMetrics.getInstance().register();
+        }
+        Game game;
+        if (args.length == 1 && args[0].equals("ultimate")) {
+            game = new Game(new tictactoe.board.UltimateBoard());
+        } else if (args.length == 3) {
+            game = new Game(Integer.parseInt(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        } else {
+            game = new Game();
+        }
         game.play();
     }
 }
@@ -0,0 +1,85 @@
+package tictactoe.ai;
+
+import tictactoe.board.BoardView;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.Zobrist;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Remembers the moves of a deterministic strategy in an
+ * {@link EvaluationCache}, so players and sessions that reach the same
+ * position reuse the first answer instead of searching again
+ * 
+ * Entries of different namespaces, board kinds and sizes never mix: they are
+ * all folded into the key. Give strategies that can answer differently, e.g.
+ * two search depths, different namespaces, and do not cache random ones.
+ * 
+ * The score stored with a move is the one the delegate searched, for a
+ * {@link ScoredStrategy}, or {@link EvaluationCache#NO_SCORE} for
+ * strategies that do not score positions.
+ */
+public class CachedStrategy implements MoveStrategy {
+
+    private final MoveStrategy delegate;
+    private final EvaluationCache cache;
+    private final long salt;
+    private int lastScore = EvaluationCache.NO_SCORE;
+
+    /**
+     * Uses the process-wide {@link EvaluationCache#getShared()}
+     */
+    public CachedStrategy(MoveStrategy delegate, String namespace) {
+        this(delegate, namespace, EvaluationCache.getShared());
+    }
+
+    public CachedStrategy(MoveStrategy delegate, String namespace, EvaluationCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.salt = mix(namespace.hashCode());
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        long key = key(board, mark);
+        long entry = cache.get(key);
+        if (entry != EvaluationCache.MISS) {
+            int move = EvaluationCache.move(entry);
+            // a colliding key could name an illegal square
+            if (board.checkMove(move) == BoardView.VALID_MOVE) {
+                lastScore = EvaluationCache.score(entry);
+                return move;
+            }
+        }
+        int move = delegate.chooseMove(board, mark);
+        lastScore = delegate instanceof ScoredStrategy ? ((ScoredStrategy) delegate).getLastScore()
+                : EvaluationCache.NO_SCORE;
+        cache.put(key, EvaluationCache.entry(move, lastScore));
+        return move;
+    }
+
+    /**
+     * @return the score of the last chosen move, cached or searched, or
+     *         {@link EvaluationCache#NO_SCORE}
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    private long key(GameBoard board, Mark mark) {
+        long shape = mix(board.getClass().getName().hashCode() * 31L * 31L * 31L
+                + (board.getRows() * 31L + board.getCols()) * 31L + board.getWinLength());
+        long key = Zobrist.withSideToMove(board.getHash(), mark) ^ salt ^ shape;
+        return key == 0 ? 1 : key;
+    }
+
+    private static long mix(long value) {
+        value *= 0x9E3779B97F4A7C15L;
+        return value ^ (value >>> 29);
+    }
+
+    public EvaluationCache getCache() {
+        return cache;
+    }
+
+}
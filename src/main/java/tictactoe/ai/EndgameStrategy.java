@@ -0,0 +1,24 @@
+package tictactoe.ai;
+
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Perfect player for the board of an {@link EndgameTable}: wins as fast as
+ * possible and loses as slowly as possible
+ */
+public class EndgameStrategy implements MoveStrategy {
+
+    private final EndgameTable table;
+
+    public EndgameStrategy(EndgameTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        return table.bestMove(board, mark);
+    }
+
+}
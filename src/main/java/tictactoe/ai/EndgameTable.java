@@ -0,0 +1,247 @@
+package tictactoe.ai;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+
+/**
+ * Solved values of every position of a small m,n,k board, read from a
+ * memory-mapped file built by {@link RetrogradeSolver}
+ * 
+ * The file has a 16-byte header followed by one byte per (base-3 position
+ * code, player to move): the high two bits hold the value for the player to
+ * move ({@link PerfectPlayTable#WIN}, {@link PerfectPlayTable#DRAW} or
+ * {@link PerfectPlayTable#LOSS}, 0 for positions that cannot be reached) and
+ * the low six bits the number of moves left with perfect play. The base-3
+ * code is a perfect hash of the position, so a lookup is one read from the
+ * page cache and the table never touches the Java heap.
+ */
+public class EndgameTable implements Closeable {
+
+    /**
+     * Largest board the tables support: 3^16 positions take 86 MB for both
+     * players to move, 3^25 for 5x5 would take terabytes
+     */
+    public static final int MAX_CELLS = 16;
+
+    static final int HEADER_SIZE = 16;
+    static final byte[] MAGIC = { 'T', 'T', 'T', 'E' };
+    static final int VERSION = 1;
+
+    private static final int[] TERNARY = new int[1 << 8];
+    private static final int TERNARY_HIGH = 6561; // 3^8
+
+    static {
+        for (int mask = 0; mask < TERNARY.length; mask++) {
+            int value = 0;
+            for (int cell = 7; cell >= 0; cell--) {
+                value = value * 3 + ((mask >>> cell) & 1);
+            }
+            TERNARY[mask] = value;
+        }
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer entries;
+    private final int rows;
+    private final int cols;
+    private final int winLength;
+    private final int[] winMasks;
+
+    EndgameTable(FileChannel channel, MappedByteBuffer entries, int rows, int cols, int winLength) {
+        this.channel = channel;
+        this.entries = entries;
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+        this.winMasks = winMasks(rows, cols, winLength);
+    }
+
+    /**
+     * Maps a table built earlier, read-only
+     */
+    public static EndgameTable open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || buffer.get() != VERSION) {
+                throw new IOException("Not an endgame table: " + file);
+            }
+            int rows = buffer.get();
+            int cols = buffer.get();
+            int winLength = buffer.get();
+            if (channel.size() != size(rows * cols)) {
+                throw new IOException("Truncated endgame table: " + file);
+            }
+            return new EndgameTable(channel, buffer, rows, cols, winLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static long size(int cells) {
+        long codes = 1;
+        for (int i = 0; i < cells; i++) {
+            codes *= 3;
+        }
+        return HEADER_SIZE + 2 * codes;
+    }
+
+    /**
+     * Every row, column and diagonal of k squares, as masks of cell bits
+     */
+    static int[] winMasks(int rows, int cols, int winLength) {
+        int[] masks = new int[4 * rows * cols];
+        int count = 0;
+        int[][] directions = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                for (int[] direction : directions) {
+                    int endRow = row + (winLength - 1) * direction[0];
+                    int endCol = col + (winLength - 1) * direction[1];
+                    if (endRow >= rows || endCol < 0 || endCol >= cols) {
+                        continue;
+                    }
+                    int mask = 0;
+                    for (int i = 0; i < winLength; i++) {
+                        mask |= 1 << ((row + i * direction[0]) * cols + col + i * direction[1]);
+                    }
+                    masks[count++] = mask;
+                }
+            }
+        }
+        return Arrays.copyOf(masks, count);
+    }
+
+    static boolean isWinning(int[] winMasks, int mask) {
+        for (int winMask : winMasks) {
+            if ((mask & winMask) == winMask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int code(int xMask, int oMask) {
+        return TERNARY[xMask & 0xFF] + TERNARY[xMask >>> 8] * TERNARY_HIGH
+                + 2 * (TERNARY[oMask & 0xFF] + TERNARY[oMask >>> 8] * TERNARY_HIGH);
+    }
+
+    static int index(int xMask, int oMask, Mark toMove) {
+        return HEADER_SIZE + (code(xMask, oMask) << 1 | (toMove == Mark.O ? 1 : 0));
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    private int entry(int xMask, int oMask, Mark toMove) {
+        return entries.get(index(xMask, oMask, toMove)) & 0xFF;
+    }
+
+    /**
+     * @return {@link PerfectPlayTable#WIN}, {@link PerfectPlayTable#DRAW} or
+     *         {@link PerfectPlayTable#LOSS} for the player to move, or
+     *         {@link PerfectPlayTable#UNKNOWN} for unreachable positions
+     */
+    public int value(int xMask, int oMask, Mark toMove) {
+        return entry(xMask, oMask, toMove) >>> 6;
+    }
+
+    /**
+     * @return moves left until the game ends with perfect play from both
+     *         sides: the winner hurries, the loser holds out
+     */
+    public int distance(int xMask, int oMask, Mark toMove) {
+        return entry(xMask, oMask, toMove) & 0x3F;
+    }
+
+    public int value(GameBoard board, Mark toMove) {
+        return value(mask(board, Mark.X), mask(board, Mark.O), toMove);
+    }
+
+    public int distance(GameBoard board, Mark toMove) {
+        return distance(mask(board, Mark.X), mask(board, Mark.O), toMove);
+    }
+
+    /**
+     * @return the square that wins fastest, draws, or loses slowest, or -1 if
+     *         the game is over
+     */
+    public int bestMove(int xMask, int oMask, Mark toMove) {
+        int occupied = xMask | oMask;
+        if (isWinning(winMasks, xMask) || isWinning(winMasks, oMask) || occupied == (1 << rows * cols) - 1) {
+            return -1;
+        }
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int cell = 0; cell < rows * cols; cell++) {
+            int bit = 1 << cell;
+            if ((occupied & bit) != 0) {
+                continue;
+            }
+            int child = toMove == Mark.X ? entry(xMask | bit, oMask, Mark.O) : entry(xMask, oMask | bit, Mark.X);
+            int score = score(child >>> 6, child & 0x3F);
+            if (score > bestScore) {
+                bestScore = score;
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    public int bestMove(GameBoard board, Mark toMove) {
+        return bestMove(mask(board, Mark.X), mask(board, Mark.O), toMove);
+    }
+
+    /**
+     * Orders the moves of the parent by the child's entry, seen from the
+     * opponent: a lost child is best, the sooner the better
+     */
+    private static int score(int childValue, int childDistance) {
+        if (childValue == PerfectPlayTable.LOSS) {
+            return 1000 - childDistance;
+        }
+        if (childValue == PerfectPlayTable.DRAW) {
+            return 0;
+        }
+        return -1000 + childDistance;
+    }
+
+    private int mask(GameBoard board, Mark mark) {
+        if (board.getRows() != rows || board.getCols() != cols || board.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Table is for " + rows + "x" + cols + " k=" + winLength);
+        }
+        int mask = 0;
+        for (int cell = 0; cell < rows * cols; cell++) {
+            if (board.getMark(cell / cols, cell % cols) == mark) {
+                mask |= 1 << cell;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,207 @@
+package tictactoe.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded hash table of evaluation results that any number of threads share
+ * without locks
+ * 
+ * Entries live in one {@link AtomicLongArray}, two longs per slot: the key
+ * XOR the packed entry, then the entry. A reader accepts a slot only when
+ * both words agree with the key, so an entry torn by two racing writers just
+ * reads as a miss. Slots are grouped four to a bucket, one 64-byte cache
+ * line, and a key may only live in its own bucket. When a bucket is full,
+ * CLOCK eviction runs inside it: every hit sets the slot's reference bit and
+ * the bucket's hand clears bits until it reaches a slot that was not used
+ * since its last pass. Reference bits and hands are plain bytes; a lost
+ * update only makes an entry live one pass more or less.
+ * 
+ * Counters are {@link LongAdder}s, so probing from many threads never
+ * writes a shared cache line unless an entry changes.
+ */
+public class EvaluationCache {
+
+    /**
+     * Returned by {@link #get(long)} when the position is not stored
+     */
+    public static final long MISS = 0;
+
+    /**
+     * Score of entries whose strategy picks moves without evaluating them
+     */
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+
+    /**
+     * Bytes a slot costs: two longs plus its reference bit
+     */
+    public static final int BYTES_PER_ENTRY = 2 * Long.BYTES + 1;
+
+    public static final long DEFAULT_BUDGET = 8L << 20;
+
+    private static final int WAYS = 4;
+
+    // Shared instance, sized with -Dtictactoe.cache.bytes
+    private static final EvaluationCache shared = new EvaluationCache(
+            Long.getLong("tictactoe.cache.bytes", DEFAULT_BUDGET));
+
+    private final AtomicLongArray slots;
+    private final byte[] referenced;
+    private final byte[] hands;
+    private final int bucketMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param budgetBytes memory for the table; the capacity is the largest
+     *                    power of two of slots that fits, at least one bucket
+     */
+    public EvaluationCache(long budgetBytes) {
+        long entries = Math.max(WAYS, Math.min(1L << 30, budgetBytes / BYTES_PER_ENTRY));
+        int capacity = Integer.highestOneBit((int) entries);
+        this.slots = new AtomicLongArray(2 * capacity);
+        this.referenced = new byte[capacity];
+        this.hands = new byte[capacity / WAYS];
+        this.bucketMask = capacity / WAYS - 1;
+    }
+
+    public static EvaluationCache getShared() {
+        return shared;
+    }
+
+    /**
+     * @param key position hash, never 0
+     * @return the stored entry, or {@link #MISS}
+     */
+    public long get(long key) {
+        int first = bucket(key) * WAYS;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            long entry = slots.get(2 * slot + 1);
+            if (entry != MISS && (slots.get(2 * slot) ^ entry) == key) {
+                if (referenced[slot] == 0) {
+                    referenced[slot] = 1;
+                }
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    /**
+     * Stores an entry, replacing the one stored for the same key or evicting
+     * one of the bucket
+     * 
+     * @param key   position hash, never 0
+     * @param entry anything but {@link #MISS}, e.g. from
+     *              {@link #entry(int, int)}
+     */
+    public void put(long key, long entry) {
+        if (entry == MISS) {
+            throw new IllegalArgumentException("Cannot store MISS");
+        }
+        int bucket = bucket(key);
+        int first = bucket * WAYS;
+        int target = -1;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            long stored = slots.get(2 * slot + 1);
+            if (stored == MISS) {
+                if (target < 0) {
+                    target = slot;
+                }
+            } else if ((slots.get(2 * slot) ^ stored) == key) {
+                target = slot;
+                break;
+            }
+        }
+        if (target < 0) {
+            target = evict(bucket);
+            evictions.increment();
+        }
+        // a reader between the two writes sees mismatched words, i.e. a miss
+        slots.set(2 * target + 1, entry);
+        slots.set(2 * target, key ^ entry);
+        referenced[target] = 0;
+        stores.increment();
+    }
+
+    private int evict(int bucket) {
+        int first = bucket * WAYS;
+        int hand = hands[bucket];
+        // at most one full turn clearing bits, then the hand's slot goes anyway
+        for (int step = 0; step < WAYS; step++) {
+            int slot = first + (hand + step) % WAYS;
+            if (referenced[slot] == 0) {
+                hands[bucket] = (byte) ((hand + step + 1) % WAYS);
+                return slot;
+            }
+            referenced[slot] = 0;
+        }
+        hands[bucket] = (byte) ((hand + 1) % WAYS);
+        return first + hand % WAYS;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+        java.util.Arrays.fill(referenced, (byte) 0);
+    }
+
+    public int capacity() {
+        return referenced.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Packs a best move and its score; the result is never {@link #MISS}
+     */
+    public static long entry(int move, int score) {
+        return ((long) (move + 1) & 0xFFFFFFFFL) << 32 | (score & 0xFFFFFFFFL) | 1L << 63;
+    }
+
+    /**
+     * @return the best move of a packed entry, or -1
+     */
+    public static int move(long entry) {
+        return (int) (entry >>> 32 & 0x7FFFFFFFL) - 1;
+    }
+
+    /**
+     * @return the score of a packed entry, or {@link #NO_SCORE}
+     */
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    private int bucket(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) & bucketMask;
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluationCache[capacity=" + capacity() + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", stores=" + getStores() + ", evictions=" + getEvictions() + "]";
+    }
+
+}
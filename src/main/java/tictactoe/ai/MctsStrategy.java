@@ -0,0 +1,329 @@
+package tictactoe.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Monte Carlo Tree Search player for boards too large to search exhaustively
+ * 
+ * Several threads grow one shared tree (tree parallelism). Nodes are slots in
+ * preallocated arrays and their statistics are updated with atomic operations,
+ * so no locks are taken and no objects are created per playout. A thread
+ * selecting a node counts its visit immediately (a virtual loss), steering the
+ * other threads to different branches until the playout result arrives.
+ * Each thread replays the path and the random playout on its own board copy.
+ * 
+ * Helper threads come from one cached pool shared by every instance, so
+ * creating a strategy per match does not leave threads behind; idle ones
+ * exit after a minute.
+ * 
+ * Scores are counted in half points from the point of view of the player who
+ * made the move leading to a node: 2 for a win, 1 for a draw, 0 for a loss.
+ */
+public class MctsStrategy implements MoveStrategy {
+
+    private static final int UNEXPANDED = 0;
+    private static final int EXPANDING = 1;
+    private static final int EXPANDED = 2;
+    private static final int ROOT = 0;
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mcts-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long timeLimitNanos;
+    private final long maxPlayouts;
+    private final int threads;
+    private final double exploration;
+
+    private final int[] moves;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final AtomicIntegerArray states;
+    private final AtomicIntegerArray visits;
+    private final AtomicLongArray scores;
+    private final AtomicInteger nextNode = new AtomicInteger();
+    private final AtomicLong playouts = new AtomicLong();
+    // set when the searching thread is interrupted, so the helpers stop early
+    private volatile boolean stopped;
+
+    private final Worker[] workers;
+
+    private long lastPlayouts;
+    private long lastElapsedNanos;
+
+    /**
+     * @param timeLimitMillis time to think per move, 0 for no limit
+     * @param maxPlayouts     playouts per move, 0 for no limit
+     * @param threads         worker threads sharing the tree
+     * @param maxNodes        tree capacity; leaves stop expanding when full
+     */
+    public MctsStrategy(long timeLimitMillis, long maxPlayouts, int threads, int maxNodes) {
+        this(timeLimitMillis, maxPlayouts, threads, maxNodes, new SplittableRandom());
+    }
+
+    /**
+     * Seeded search: with one thread and a playout budget every move can be
+     * reproduced; with more threads the schedule still varies the result
+     */
+    public MctsStrategy(long timeLimitMillis, long maxPlayouts, int threads, int maxNodes, long seed) {
+        this(timeLimitMillis, maxPlayouts, threads, maxNodes, new SplittableRandom(seed));
+    }
+
+    private MctsStrategy(long timeLimitMillis, long maxPlayouts, int threads, int maxNodes, SplittableRandom random) {
+        if (timeLimitMillis <= 0 && maxPlayouts <= 0) {
+            throw new IllegalArgumentException("A time or playout budget is required");
+        }
+        this.timeLimitNanos = timeLimitMillis * 1_000_000;
+        this.maxPlayouts = maxPlayouts;
+        this.threads = Math.max(1, threads);
+        this.exploration = Math.sqrt(2);
+        this.moves = new int[maxNodes];
+        this.firstChild = new int[maxNodes];
+        this.childCount = new int[maxNodes];
+        this.states = new AtomicIntegerArray(maxNodes);
+        this.visits = new AtomicIntegerArray(maxNodes);
+        this.scores = new AtomicLongArray(maxNodes);
+        this.workers = new Worker[this.threads];
+        for (int i = 0; i < this.threads; i++) {
+            workers[i] = new Worker(random.split());
+        }
+    }
+
+    /**
+     * Single-threaded search with a playout budget
+     */
+    public MctsStrategy(long maxPlayouts) {
+        this(0, maxPlayouts, 1, defaultNodes(maxPlayouts));
+    }
+
+    /**
+     * Reproducible single-threaded search with a playout budget, e.g. for a
+     * {@link tictactoe.player.StrategyFactory}
+     */
+    public MctsStrategy(long maxPlayouts, long seed) {
+        this(0, maxPlayouts, 1, defaultNodes(maxPlayouts), seed);
+    }
+
+    private static int defaultNodes(long maxPlayouts) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1024, maxPlayouts * 4));
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        long start = System.nanoTime();
+        resetTree();
+        long deadline = timeLimitNanos > 0 ? start + timeLimitNanos : Long.MAX_VALUE;
+
+        CountDownLatch done = new CountDownLatch(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            Worker worker = workers[i];
+            EXECUTOR.execute(() -> {
+                try {
+                    worker.search(board, mark, deadline);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        workers[0].search(board, mark, deadline);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException e) {
+                // the helpers still write the tree: stop them and wait before reading it
+                interrupted = true;
+                stopped = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        lastPlayouts = playouts.get();
+        lastElapsedNanos = System.nanoTime() - start;
+        int move = mostVisitedMove();
+        // e.g. a budget too small to expand the root
+        return move >= 0 ? move : board.nextEmptyCell(0);
+    }
+
+    private void resetTree() {
+        int used = Math.min(nextNode.get(), moves.length);
+        for (int node = 0; node < used; node++) {
+            states.set(node, UNEXPANDED);
+            visits.set(node, 0);
+            scores.set(node, 0);
+        }
+        moves[ROOT] = -1;
+        nextNode.set(1);
+        playouts.set(0);
+        stopped = false;
+    }
+
+    private int mostVisitedMove() {
+        int best = -1;
+        int bestVisits = -1;
+        if (states.get(ROOT) == EXPANDED) {
+            for (int child = firstChild[ROOT], end = child + childCount[ROOT]; child < end; child++) {
+                if (visits.get(child) > bestVisits) {
+                    bestVisits = visits.get(child);
+                    best = moves[child];
+                }
+            }
+        }
+        return best;
+    }
+
+    private boolean budgetLeft(long deadline) {
+        if (Thread.currentThread().isInterrupted()) {
+            stopped = true;
+        }
+        return !stopped && (maxPlayouts <= 0 || playouts.get() < maxPlayouts)
+                && (deadline == Long.MAX_VALUE || System.nanoTime() < deadline);
+    }
+
+    /**
+     * Per-thread scratch state, reused for every playout
+     */
+    private final class Worker {
+        private final SplittableRandom random;
+        private GameBoard scratch;
+        private int[] path = new int[0];
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void search(GameBoard root, Mark mark, long deadline) {
+            int cells = root.getRows() * root.getCols();
+            if (scratch == null || scratch.getRows() != root.getRows() || scratch.getCols() != root.getCols()
+                    || scratch.getWinLength() != root.getWinLength() || scratch.getClass() != root.getClass()) {
+                scratch = root.copy();
+                path = new int[cells + 1];
+            }
+            while (budgetLeft(deadline)) {
+                scratch.copyFrom(root);
+                iterate(mark);
+                playouts.incrementAndGet();
+            }
+        }
+
+        private void iterate(Mark rootMark) {
+            int node = ROOT;
+            int depth = 0;
+            Mark toMove = rootMark;
+            path[depth++] = node;
+            visits.incrementAndGet(node);
+
+            // selection, counting each visit up front as a virtual loss
+            while (states.get(node) == EXPANDED && !scratch.isGameOver()) {
+                node = select(node);
+                scratch.placeMark(moves[node], toMove);
+                toMove = toMove.opponent();
+                path[depth++] = node;
+                visits.incrementAndGet(node);
+            }
+
+            // expansion: one thread claims the node, the others just play out from it
+            if (!scratch.isGameOver() && states.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+                expand(node);
+            }
+
+            // random playout
+            while (!scratch.isGameOver()) {
+                scratch.placeMark(randomEmptyCell(), toMove);
+                toMove = toMove.opponent();
+            }
+
+            // backpropagation: the mover into path[i] is rootMark for odd i
+            Mark winner = scratch.getWinner();
+            for (int i = depth - 1; i >= 0; i--) {
+                Mark mover = (i & 1) == 1 ? rootMark : rootMark.opponent();
+                scores.addAndGet(path[i], winner == null ? 1 : winner == mover ? 2 : 0);
+            }
+        }
+
+        private void expand(int node) {
+            int children = scratch.getLegalMoveCount();
+            if (nextNode.get() + children > moves.length) {
+                // tree is full, the node stays a leaf for good
+                return;
+            }
+            int first = nextNode.getAndAdd(children);
+            if (first + children > moves.length) {
+                // tree is full, the node stays a leaf for good
+                return;
+            }
+            int child = first;
+            for (int cell = scratch.nextEmptyCell(0); cell >= 0; cell = scratch.nextEmptyCell(cell + 1)) {
+                moves[child++] = cell;
+            }
+            firstChild[node] = first;
+            childCount[node] = children;
+            states.set(node, EXPANDED);
+        }
+
+        private int select(int node) {
+            int first = firstChild[node];
+            int end = first + childCount[node];
+            double logParent = Math.log(Math.max(1, visits.get(node)));
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < end; child++) {
+                int childVisits = visits.get(child);
+                if (childVisits == 0) {
+                    return child;
+                }
+                double value = scores.get(child) / (2.0 * childVisits)
+                        + exploration * Math.sqrt(logParent / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private int randomEmptyCell() {
+            int skip = random.nextInt(scratch.getLegalMoveCount());
+            int cell = scratch.nextEmptyCell(0);
+            while (skip-- > 0) {
+                cell = scratch.nextEmptyCell(cell + 1);
+            }
+            return cell;
+        }
+    }
+
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    public double getPlayoutsPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastPlayouts * 1e9 / lastElapsedNanos;
+    }
+
+    /**
+     * @return tree nodes allocated during the last move
+     */
+    public int getLastNodes() {
+        return Math.min(nextNode.get(), moves.length);
+    }
+
+}
@@ -0,0 +1,215 @@
+package tictactoe.ai;
+
+import tictactoe.board.BoardView;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.Zobrist;
+
+/**
+ * Computer player that searches the game tree with negamax and alpha-beta
+ * pruning
+ * 
+ * Moves are tried best-first: the move stored in the transposition table for
+ * the position, then squares ordered from the center outwards. The search
+ * plays and takes back marks directly on the board it is given, so no
+ * coordinates or board copies are created per node. With an unlimited depth
+ * play is perfect; on larger boards the depth limit scores unresolved
+ * positions as draws.
+ */
+public class NegamaxStrategy implements ScoredStrategy {
+
+    public static final int WIN_SCORE = 1_000_000;
+    private static final int MAX_PLY = 4096;
+    private static final int INFINITY = Integer.MAX_VALUE - 1;
+
+    private final TranspositionTable table;
+    private final int maxDepth;
+
+    private int[] moveOrder = new int[0];
+    private int orderRows;
+    private int orderCols;
+
+    private long lastNodes;
+    private long lastElapsedNanos;
+    private int lastScore;
+
+    /**
+     * Searches every position to the end of the game
+     */
+    public NegamaxStrategy(TranspositionTable table) {
+        this(table, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param table    transposition table, may be shared with other strategies
+     *                 running on the same thread
+     * @param maxDepth maximum number of moves to look ahead
+     */
+    public NegamaxStrategy(TranspositionTable table, int maxDepth) {
+        this.table = table;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        long start = System.nanoTime();
+        lastNodes = 0;
+        prepareMoveOrder(board);
+
+        int depth = Math.min(Math.min(maxDepth, 255), board.getRows() * board.getCols() - board.getMoveCount());
+        int alpha = -INFINITY;
+        int bestMove = -1;
+        for (int cell : moveOrder) {
+            if (board.checkMove(cell) != BoardView.VALID_MOVE) {
+                continue;
+            }
+            board.placeMark(cell, mark);
+            int score = -negamax(board, mark.opponent(), depth - 1, -INFINITY, -alpha, 1);
+            board.clearMark(cell);
+            if (bestMove < 0 || score > alpha) {
+                alpha = score;
+                bestMove = cell;
+            }
+        }
+
+        lastScore = alpha;
+        lastElapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    private int negamax(GameBoard board, Mark mark, int depth, int alpha, int beta, int ply) {
+        lastNodes++;
+        if (board.hasWinner()) {
+            // the previous move won the game
+            return -(WIN_SCORE - ply);
+        }
+        if (depth <= 0 || board.isBoardFull()) {
+            return 0;
+        }
+
+        long key = Zobrist.withSideToMove(board.getHash(), mark);
+        int originalAlpha = alpha;
+        int tableMove = -1;
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            tableMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT) {
+                    return score;
+                } else if (flag == TranspositionTable.LOWER_BOUND) {
+                    alpha = Math.max(alpha, score);
+                } else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = -1; i < moveOrder.length; i++) {
+            int cell = i < 0 ? tableMove : moveOrder[i];
+            if (cell < 0 || (i >= 0 && cell == tableMove) || board.checkMove(cell) != BoardView.VALID_MOVE) {
+                continue;
+            }
+            board.placeMark(cell, mark);
+            int score = -negamax(board, mark.opponent(), depth - 1, -beta, -alpha, ply + 1);
+            board.clearMark(cell);
+            if (score > best) {
+                best = score;
+                bestMove = cell;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int flag = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, toTable(best, ply), depth, flag, bestMove);
+        return best;
+    }
+
+    /**
+     * Win scores are stored relative to the stored position rather than the
+     * root, so they stay valid when the position is reached at another ply
+     */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score < -WIN_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score < -WIN_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Orders the squares by distance to the center, computed once per board
+     * size
+     */
+    private void prepareMoveOrder(GameBoard board) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        if (moveOrder.length == rows * cols && orderRows == rows && orderCols == cols) {
+            return;
+        }
+        Integer[] cells = new Integer[rows * cols];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+        }
+        java.util.Arrays.sort(cells, (a, b) -> Integer.compare(centerDistance(a, rows, cols),
+                centerDistance(b, rows, cols)));
+        moveOrder = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            moveOrder[i] = cells[i];
+        }
+        orderRows = rows;
+        orderCols = cols;
+    }
+
+    private static int centerDistance(int cell, int rows, int cols) {
+        int row = cell / cols;
+        int col = cell % cols;
+        // doubled to stay in integers on even-sized boards
+        return Math.abs(2 * row - (rows - 1)) + Math.abs(2 * col - (cols - 1));
+    }
+
+    @Override
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    /**
+     * @return nodes searched per second during the last move
+     */
+    public double getNodesPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastNodes * 1e9 / lastElapsedNanos;
+    }
+
+}
@@ -0,0 +1,27 @@
+package tictactoe.ai;
+
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Perfect 3x3 player answering from {@link PerfectPlayTable} in constant time
+ */
+public class PerfectPlayStrategy implements MoveStrategy {
+
+    private final PerfectPlayTable table;
+
+    public PerfectPlayStrategy() {
+        this(PerfectPlayTable.getInstance());
+    }
+
+    public PerfectPlayStrategy(PerfectPlayTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        return table.bestMove(PerfectPlayTable.encode(board), mark);
+    }
+
+}
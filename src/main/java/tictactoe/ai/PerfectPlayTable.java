@@ -0,0 +1,194 @@
+package tictactoe.ai;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+
+/**
+ * Game-theoretic value and best move of every reachable 3x3 position
+ * 
+ * The table holds one byte per (base-3 board encoding, player to move), 39,366
+ * bytes in total: the high nibble is the value for the player to move
+ * ({@link #WIN}, {@link #DRAW} or {@link #LOSS}, 0 for unreachable positions)
+ * and the low nibble the best square (15 when the game is over). Either player
+ * may open the game, so both movers are stored for every encoding.
+ * 
+ * The build stores the table as the {@code perfect-play.bin} resource next to
+ * this class; when the resource is missing it is solved on first use, which
+ * takes a few milliseconds. Once loaded the table is read-only and can be
+ * shared by any number of concurrent games.
+ */
+public final class PerfectPlayTable {
+
+    public static final int UNKNOWN = 0;
+    public static final int WIN = 1;
+    public static final int DRAW = 2;
+    public static final int LOSS = 3;
+
+    static final String RESOURCE = "perfect-play.bin";
+    private static final int SIZE = 2 * Board.ENCODINGS;
+    private static final int NO_MOVE = 0xF;
+    private static final int FULL = (1 << 9) - 1;
+
+    private final byte[] entries;
+
+    private PerfectPlayTable(byte[] entries) {
+        this.entries = entries;
+    }
+
+    private static final class Holder {
+        static final PerfectPlayTable INSTANCE = load();
+    }
+
+    public static PerfectPlayTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return the best square (row * 3 + col) for the player to move, or -1 if
+     *         the game is over or the position cannot be reached
+     */
+    public int bestMove(int encoding, Mark toMove) {
+        int move = entries[index(encoding, toMove)] & 0xF;
+        return move == NO_MOVE ? -1 : move;
+    }
+
+    public int bestMove(Board board, Mark toMove) {
+        return bestMove(board.encode(), toMove);
+    }
+
+    /**
+     * @return {@link #WIN}, {@link #DRAW} or {@link #LOSS} with perfect play
+     *         from both sides, or {@link #UNKNOWN} for unreachable positions
+     */
+    public int value(int encoding, Mark toMove) {
+        return (entries[index(encoding, toMove)] >>> 4) & 0xF;
+    }
+
+    public int value(Board board, Mark toMove) {
+        return value(board.encode(), toMove);
+    }
+
+    /**
+     * Base-3 encoding of any 3x3 board, see {@link Board#encode()}
+     */
+    public static int encode(GameBoard board) {
+        if (board instanceof Board) {
+            return ((Board) board).encode();
+        }
+        if (board.getRows() != 3 || board.getCols() != 3 || board.getWinLength() != 3) {
+            throw new IllegalArgumentException("Only 3x3 boards are supported");
+        }
+        int xMask = 0;
+        int oMask = 0;
+        for (int cell = 0; cell < 9; cell++) {
+            Mark mark = board.getMark(cell / 3, cell % 3);
+            if (mark == Mark.X) {
+                xMask |= 1 << cell;
+            } else if (mark == Mark.O) {
+                oMask |= 1 << cell;
+            }
+        }
+        return Board.encode(xMask, oMask);
+    }
+
+    public void write(OutputStream out) throws IOException {
+        out.write(entries);
+    }
+
+    private static int index(int encoding, Mark toMove) {
+        return encoding << 1 | (toMove == Mark.O ? 1 : 0);
+    }
+
+    private static PerfectPlayTable load() {
+        try (InputStream in = PerfectPlayTable.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                byte[] entries = new byte[SIZE];
+                new DataInputStream(in).readFully(entries);
+                if (in.read() < 0) {
+                    return new PerfectPlayTable(entries);
+                }
+            }
+        } catch (IOException e) {
+            // fall back to solving the table
+        }
+        return solve();
+    }
+
+    /**
+     * Solves every position reachable from the empty board, whichever player
+     * starts
+     */
+    static PerfectPlayTable solve() {
+        byte[] entries = new byte[SIZE];
+        solve(entries, 0, 0, Mark.X);
+        solve(entries, 0, 0, Mark.O);
+        return new PerfectPlayTable(entries);
+    }
+
+    private static int solve(byte[] entries, int xMask, int oMask, Mark toMove) {
+        int index = index(Board.encode(xMask, oMask), toMove);
+        if (entries[index] != 0) {
+            return entries[index] >>> 4;
+        }
+
+        int value;
+        int move = NO_MOVE;
+        if (Board.isWinningMask(xMask) || Board.isWinningMask(oMask)) {
+            // the previous move won
+            value = LOSS;
+        } else if ((xMask | oMask) == FULL) {
+            value = DRAW;
+        } else {
+            value = LOSS;
+            int own = toMove == Mark.X ? xMask : oMask;
+            boolean immediateWin = false;
+            for (int cell = 0; cell < 9; cell++) {
+                int bit = 1 << cell;
+                if (((xMask | oMask) & bit) != 0) {
+                    continue;
+                }
+                // every child is solved, even after a win is found, so that any
+                // reachable position has an entry
+                int childValue = toMove == Mark.X ? solve(entries, xMask | bit, oMask, Mark.O)
+                        : solve(entries, xMask, oMask | bit, Mark.X);
+                int ownValue = childValue == WIN ? LOSS : childValue == LOSS ? WIN : DRAW;
+                if (immediateWin) {
+                    continue;
+                }
+                if (Board.isWinningMask(own | bit)) {
+                    immediateWin = true;
+                    value = WIN;
+                    move = cell;
+                } else if (ownValue < value || move == NO_MOVE) {
+                    value = ownValue;
+                    move = cell;
+                }
+            }
+        }
+        entries[index] = (byte) (value << 4 | move);
+        return value;
+    }
+
+    /**
+     * Writes the solved table to the given file, used by the build to generate
+     * the {@value #RESOURCE} resource
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args[0]);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            solve().write(out);
+        }
+    }
+
+}
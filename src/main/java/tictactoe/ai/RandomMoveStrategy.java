@@ -0,0 +1,38 @@
+package tictactoe.ai;
+
+import java.util.SplittableRandom;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Plays a uniformly random empty square. Not thread-safe: give each thread its
+ * own instance.
+ */
+public class RandomMoveStrategy implements MoveStrategy {
+
+    private final SplittableRandom random;
+
+    public RandomMoveStrategy() {
+        this(new SplittableRandom());
+    }
+
+    public RandomMoveStrategy(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    public RandomMoveStrategy(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        int skip = random.nextInt(board.getLegalMoveCount());
+        int cell = board.nextEmptyCell(0);
+        while (skip-- > 0) {
+            cell = board.nextEmptyCell(cell + 1);
+        }
+        return cell;
+    }
+
+}
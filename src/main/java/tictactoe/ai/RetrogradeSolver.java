@@ -0,0 +1,207 @@
+package tictactoe.ai;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+
+/**
+ * Builds an {@link EndgameTable} by retrograde analysis
+ * 
+ * Marks are never removed, so every position with n marks only leads to
+ * positions with n + 1. The solver starts from the full boards and works
+ * backwards one layer of mark counts at a time: within a layer the positions
+ * are independent and are solved in parallel, each one from the entries of
+ * its children in the layer solved before. Only positions whose mark counts
+ * can occur in a game (either player opening) are visited. Results go
+ * straight into the memory-mapped output file, so the heap holds nothing but
+ * the list of occupied-square masks of one layer.
+ * 
+ * The win rule is the one of {@link MnkBoard}: k marks in a row, column or
+ * diagonal.
+ */
+public class RetrogradeSolver {
+
+    private final int rows;
+    private final int cols;
+    private final int winLength;
+    private final int cells;
+    private final int[] winMasks;
+
+    public RetrogradeSolver(int rows, int cols, int winLength) {
+        if (rows < 1 || cols < 1 || rows * cols > EndgameTable.MAX_CELLS) {
+            throw new IllegalArgumentException(
+                    "Endgame tables support up to " + EndgameTable.MAX_CELLS + " squares, not " + rows + "x" + cols);
+        }
+        if (winLength < 1 || winLength > Math.max(rows, cols)) {
+            throw new IllegalArgumentException("Invalid win length " + winLength);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+        this.cells = rows * cols;
+        this.winMasks = EndgameTable.winMasks(rows, cols, winLength);
+    }
+
+    /**
+     * Solves every position into the given file, replacing it
+     * 
+     * @param threads worker threads solving each layer
+     */
+    public EndgameTable solve(Path file, int threads) throws IOException {
+        long size = EndgameTable.size(cells);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int layer = cells; layer >= 0; layer--) {
+                    int[] occupied = occupiedMasks(layer);
+                    pool.submit(() -> IntStream.range(0, occupied.length).parallel()
+                            .forEach(i -> solveOccupied(table, occupied[i]))).join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+            table.put(EndgameTable.MAGIC);
+            table.put((byte) EndgameTable.VERSION);
+            table.put((byte) rows);
+            table.put((byte) cols);
+            table.put((byte) winLength);
+            table.force();
+        }
+        return EndgameTable.open(file);
+    }
+
+    /**
+     * @return every set of {@code count} occupied squares
+     */
+    private int[] occupiedMasks(int count) {
+        int[] masks = new int[binomial(cells, count)];
+        int found = 0;
+        if (count == 0) {
+            masks[found++] = 0;
+        } else {
+            // Gosper's hack: next larger integer with the same number of bits
+            int mask = (1 << count) - 1;
+            while (mask < 1 << cells) {
+                masks[found++] = mask;
+                int lowest = mask & -mask;
+                int ripple = mask + lowest;
+                mask = (((ripple ^ mask) >>> 2) / lowest) | ripple;
+            }
+        }
+        return masks;
+    }
+
+    private static int binomial(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Solves the positions with these occupied squares where X and O differ
+     * by at most one mark, for each player who can be to move
+     */
+    private void solveOccupied(MappedByteBuffer table, int occupied) {
+        int count = Integer.bitCount(occupied);
+        // enumerate the subsets of the occupied squares held by X
+        for (int xMask = occupied;; xMask = (xMask - 1) & occupied) {
+            int xCount = Integer.bitCount(xMask);
+            int oCount = count - xCount;
+            int oMask = occupied & ~xMask;
+            if (xCount == oCount) {
+                solve(table, xMask, oMask, Mark.X);
+                solve(table, xMask, oMask, Mark.O);
+            } else if (xCount == oCount + 1) {
+                solve(table, xMask, oMask, Mark.O);
+            } else if (oCount == xCount + 1) {
+                solve(table, xMask, oMask, Mark.X);
+            }
+            if (xMask == 0) {
+                break;
+            }
+        }
+    }
+
+    private void solve(MappedByteBuffer table, int xMask, int oMask, Mark toMove) {
+        int occupied = xMask | oMask;
+        int value;
+        int distance;
+        if (EndgameTable.isWinning(winMasks, xMask) || EndgameTable.isWinning(winMasks, oMask)) {
+            // the previous move won
+            value = PerfectPlayTable.LOSS;
+            distance = 0;
+        } else if (Integer.bitCount(occupied) == cells) {
+            value = PerfectPlayTable.DRAW;
+            distance = 0;
+        } else {
+            int fastestWin = Integer.MAX_VALUE;
+            int slowestLoss = -1;
+            boolean draw = false;
+            for (int empty = ~occupied & ((1 << cells) - 1); empty != 0; empty &= empty - 1) {
+                int bit = empty & -empty;
+                int child = toMove == Mark.X ? table.get(EndgameTable.index(xMask | bit, oMask, Mark.O))
+                        : table.get(EndgameTable.index(xMask, oMask | bit, Mark.X));
+                int childValue = (child >>> 6) & 0x3;
+                int childDistance = child & 0x3F;
+                if (childValue == PerfectPlayTable.LOSS) {
+                    fastestWin = Math.min(fastestWin, childDistance + 1);
+                } else if (childValue == PerfectPlayTable.DRAW) {
+                    draw = true;
+                } else {
+                    slowestLoss = Math.max(slowestLoss, childDistance + 1);
+                }
+            }
+            if (fastestWin != Integer.MAX_VALUE) {
+                value = PerfectPlayTable.WIN;
+                distance = fastestWin;
+            } else if (draw) {
+                value = PerfectPlayTable.DRAW;
+                // nobody can win, so the board fills up
+                distance = cells - Integer.bitCount(occupied);
+            } else {
+                value = PerfectPlayTable.LOSS;
+                distance = slowestLoss;
+            }
+        }
+        table.put(EndgameTable.index(xMask, oMask, toMove), (byte) (value << 6 | distance));
+    }
+
+    /**
+     * Builds a table file
+     * 
+     * @param args rows, columns, win length, output file and optionally the
+     *             number of threads, e.g. {@code 4 4 3 4x4k3.bin}
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        RetrogradeSolver solver = new RetrogradeSolver(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]));
+        Path file = Paths.get(args[3]);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        long start = System.nanoTime();
+        try (EndgameTable table = solver.solve(file, threads)) {
+            System.out.printf("Solved %dx%d k=%d in %.1f s: %s for the first player, game over in %d moves%n",
+                    table.getRows(), table.getCols(), table.getWinLength(), (System.nanoTime() - start) / 1e9,
+                    describe(table.value(0, 0, Mark.X)), table.distance(0, 0, Mark.X));
+        }
+    }
+
+    private static String describe(int value) {
+        return value == PerfectPlayTable.WIN ? "win" : value == PerfectPlayTable.DRAW ? "draw" : "loss";
+    }
+
+}
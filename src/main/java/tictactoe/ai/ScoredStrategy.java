@@ -0,0 +1,17 @@
+package tictactoe.ai;
+
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Move strategy that evaluates the position it was asked about, so wrappers
+ * like {@link CachedStrategy} can keep the score along with the move
+ */
+public interface ScoredStrategy extends MoveStrategy {
+
+    /**
+     * @return the score of the last chosen move: positive when winning, 0 for a
+     *         draw
+     */
+    int getLastScore();
+
+}
@@ -0,0 +1,86 @@
+package tictactoe.ai;
+
+/**
+ * Fixed-size hash table of search results keyed by Zobrist hash
+ * 
+ * Entries live in two parallel {@code long[]} arrays (key and packed data), so
+ * storing and probing never allocate. A slot is simply overwritten when a
+ * deeper or equally deep result for another position arrives. One table can be
+ * shared by several searches that run on the same thread.
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    /**
+     * Returned by {@link #probe(long)} when the position is not stored
+     */
+    public static final long MISS = 0;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    /**
+     * @param capacity number of entries, rounded up to a power of two
+     */
+    public TranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the packed entry for the position, or {@link #MISS}
+     */
+    public long probe(long key) {
+        int index = index(key);
+        return keys[index] == key ? data[index] : MISS;
+    }
+
+    public void store(long key, int score, int depth, int flag, int move) {
+        int index = index(key);
+        if (keys[index] != key && data[index] != MISS && depth(data[index]) > depth) {
+            return;
+        }
+        keys[index] = key;
+        data[index] = ((long) (move + 1) & 0xFFFF) << 48 | ((long) depth & 0xFF) << 40 | ((long) flag & 0xFF) << 32
+                | (score & 0xFFFFFFFFL);
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, 0);
+        java.util.Arrays.fill(data, MISS);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    public static int flag(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 40) & 0xFF;
+    }
+
+    /**
+     * @return the best move found for the position, or -1
+     */
+    public static int move(long entry) {
+        return (int) (entry >>> 48) - 1;
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+}
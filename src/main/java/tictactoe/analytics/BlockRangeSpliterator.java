@@ -0,0 +1,81 @@
+package tictactoe.analytics;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Splits the block range of a game log into chunks of whole blocks
+ * 
+ * Each element is the first block of a chunk; a consumer reads
+ * {@code [start, min(start + chunkBlocks, toBlock))}. Splitting halves the
+ * remaining chunks, so a parallel stream hands every worker a contiguous run
+ * of the file that it maps on its own.
+ */
+public class BlockRangeSpliterator implements Spliterator.OfLong {
+
+    private final int chunkBlocks;
+    private final long toBlock;
+    private long nextBlock;
+
+    public BlockRangeSpliterator(long fromBlock, long toBlock, int chunkBlocks) {
+        if (chunkBlocks <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.nextBlock = fromBlock;
+        this.toBlock = toBlock;
+        this.chunkBlocks = chunkBlocks;
+    }
+
+    public int getChunkBlocks() {
+        return chunkBlocks;
+    }
+
+    /**
+     * @return exclusive end block of the chunk starting at {@code start}
+     */
+    public long chunkEnd(long start) {
+        return Math.min(toBlock, start + chunkBlocks);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (nextBlock >= toBlock) {
+            return false;
+        }
+        long start = nextBlock;
+        nextBlock = chunkEnd(start);
+        action.accept(start);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        for (long start = nextBlock; start < toBlock; start += chunkBlocks) {
+            action.accept(start);
+        }
+        nextBlock = toBlock;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        long chunks = estimateSize();
+        if (chunks < 2) {
+            return null;
+        }
+        long middle = nextBlock + (chunks / 2) * chunkBlocks;
+        BlockRangeSpliterator prefix = new BlockRangeSpliterator(nextBlock, middle, chunkBlocks);
+        nextBlock = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return nextBlock >= toBlock ? 0 : (toBlock - nextBlock + chunkBlocks - 1) / chunkBlocks;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+}
@@ -0,0 +1,77 @@
+package tictactoe.analytics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.StreamSupport;
+import tictactoe.board.Mark;
+import tictactoe.record.GameLog;
+import tictactoe.record.GameLogReader;
+
+/**
+ * Streams a recorded game log through parallel chunks and aggregates it
+ * 
+ * Every fork-join leaf fills its own {@link GameLogStatistics} from the chunks
+ * it is handed and the partial results are merged once at the end, so no
+ * boxed value or shared counter is touched per game.
+ */
+public class GameLogAnalytics {
+
+    /**
+     * 1 MiB of log per chunk
+     */
+    public static final int DEFAULT_CHUNK_BLOCKS = 16;
+
+    private GameLogAnalytics() {
+    }
+
+    public static GameLogStatistics analyze(GameLogReader reader) {
+        return analyze(reader, DEFAULT_CHUNK_BLOCKS, true);
+    }
+
+    public static GameLogStatistics analyze(GameLogReader reader, int chunkBlocks, boolean parallel) {
+        BlockRangeSpliterator chunks = new BlockRangeSpliterator(0, reader.getBlockCount(), chunkBlocks);
+        return StreamSupport.longStream(chunks, parallel).collect(GameLogStatistics::new, (statistics, start) -> {
+            try {
+                reader.forEach(start, chunks.chunkEnd(start), statistics);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, GameLogStatistics::merge);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: GameLogAnalytics <game log>");
+            return;
+        }
+        Path path = Paths.get(args[0]);
+        long start = System.nanoTime();
+        GameLogStatistics statistics;
+        try (GameLogReader reader = new GameLogReader(path)) {
+            statistics = analyze(reader);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d games in %.1f ms, average length %.2f moves%n", statistics.getGames(),
+                elapsed / 1e6, statistics.getAverageLength());
+        for (Mark first : new Mark[] { Mark.X, Mark.O }) {
+            System.out.printf("%s first: X wins %d, O wins %d, ties %d%n", first,
+                    statistics.getGamesByFirstPlayer(first, GameLog.X_WINS),
+                    statistics.getGamesByFirstPlayer(first, GameLog.O_WINS),
+                    statistics.getGamesByFirstPlayer(first, GameLog.TIE));
+        }
+        for (int square = 0; square < 9; square++) {
+            System.out.printf("Opening (%d, %d): opener wins %.1f%%%n", square / 3 + 1, square % 3 + 1,
+                    100 * statistics.getOpeningWinRate(square));
+        }
+        System.out.println("Most common losing lines:");
+        for (long line : statistics.getMostCommonLosingLines(10)) {
+            System.out.printf("  %s x%d%n", Arrays.toString(GameLogStatistics.unpackLine(line)),
+                    statistics.getLosingLineCount(line));
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package tictactoe.analytics;
+
+import tictactoe.board.Mark;
+import tictactoe.record.GameLog;
+import tictactoe.record.GameRecordVisitor;
+
+/**
+ * Aggregates of a set of logged games
+ * 
+ * Counts are kept in primitive arrays indexed by opening square, first player
+ * and outcome; losing lines go into a {@link LongCountMap} keyed by the packed
+ * move sequence. Instances are filled by one thread each and then merged.
+ */
+public class GameLogStatistics implements GameRecordVisitor {
+
+    private static final int OUTCOMES = 4;
+
+    private long games;
+    private long totalMoves;
+    // [opening square][outcome]
+    private final long[][] byOpening = new long[9][OUTCOMES];
+    private final long[] openerWins = new long[9];
+    // [first player X = 0, O = 1][outcome]
+    private final long[][] byFirstPlayer = new long[2][OUTCOMES];
+    private final LongCountMap losingLines = new LongCountMap();
+
+    @Override
+    public void visit(Mark firstPlayer, int outcome, int[] moves, int moveCount) {
+        games++;
+        totalMoves += moveCount;
+        byFirstPlayer[firstPlayer == Mark.O ? 1 : 0][outcome]++;
+        if (moveCount > 0) {
+            byOpening[moves[0]][outcome]++;
+            if (outcome == GameLog.outcome(firstPlayer, true)) {
+                openerWins[moves[0]]++;
+            }
+        }
+        if (outcome == GameLog.X_WINS || outcome == GameLog.O_WINS) {
+            losingLines.add(packLine(moves, moveCount), 1);
+        }
+    }
+
+    public GameLogStatistics merge(GameLogStatistics other) {
+        games += other.games;
+        totalMoves += other.totalMoves;
+        for (int i = 0; i < byOpening.length; i++) {
+            openerWins[i] += other.openerWins[i];
+            for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+                byOpening[i][outcome] += other.byOpening[i][outcome];
+            }
+        }
+        for (int i = 0; i < byFirstPlayer.length; i++) {
+            for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+                byFirstPlayer[i][outcome] += other.byFirstPlayer[i][outcome];
+            }
+        }
+        losingLines.addAll(other.losingLines);
+        return this;
+    }
+
+    /**
+     * Packs a move sequence in a long: the move count in the low 4 bits, then
+     * one 4-bit square per move. Never 0 for a game with moves.
+     */
+    public static long packLine(int[] moves, int moveCount) {
+        long line = moveCount;
+        for (int i = 0; i < moveCount; i++) {
+            line |= (long) (moves[i] & 0xF) << (4 * (i + 1));
+        }
+        return line;
+    }
+
+    public static int[] unpackLine(long line) {
+        int[] moves = new int[(int) (line & 0xF)];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (int) (line >>> (4 * (i + 1))) & 0xF;
+        }
+        return moves;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public double getAverageLength() {
+        return games == 0 ? 0 : (double) totalMoves / games;
+    }
+
+    /**
+     * @param outcome one of the {@link GameLog} outcomes
+     */
+    public long getGamesByOpening(int square, int outcome) {
+        return byOpening[square][outcome];
+    }
+
+    public long getGamesByFirstPlayer(Mark firstPlayer, int outcome) {
+        return byFirstPlayer[firstPlayer == Mark.O ? 1 : 0][outcome];
+    }
+
+    /**
+     * @return share of the games opened on {@code square} that the opening
+     *         player won
+     */
+    public double getOpeningWinRate(int square) {
+        long total = 0;
+        for (long games : byOpening[square]) {
+            total += games;
+        }
+        return total == 0 ? 0 : (double) openerWins[square] / total;
+    }
+
+    /**
+     * @return the most frequent move sequences of won games, packed with
+     *         {@link #packLine}
+     */
+    public long[] getMostCommonLosingLines(int limit) {
+        return losingLines.topKeys(limit);
+    }
+
+    public long getLosingLineCount(long line) {
+        return losingLines.get(line);
+    }
+
+}
@@ -0,0 +1,120 @@
+package tictactoe.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from non-zero {@code long} keys to counts, stored in two
+ * primitive arrays so counting never boxes or allocates per key
+ */
+public class LongCountMap {
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    public LongCountMap() {
+        this(1024);
+    }
+
+    public LongCountMap(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedKeys * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+    }
+
+    /**
+     * @param key any value except 0
+     */
+    public void add(long key, long count) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == 0) {
+            keys[index] = key;
+            if (++size * 2 > keys.length) {
+                counts[index] = count;
+                grow();
+                return;
+            }
+        }
+        counts[index] += count;
+    }
+
+    public long get(long key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return counts[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void addAll(LongCountMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != 0) {
+                add(other.keys[i], other.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} keys with the highest counts, highest first
+     */
+    public long[] topKeys(int limit) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+        long[] top = new long[Math.min(limit, size)];
+        long[] topCounts = new long[top.length];
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == 0) {
+                continue;
+            }
+            long count = counts[i];
+            if (found < top.length) {
+                found++;
+            } else if (count <= topCounts[found - 1]) {
+                continue;
+            }
+            // insertion into the sorted top list
+            int position = found - 1;
+            while (position > 0 && topCounts[position - 1] < count) {
+                top[position] = top[position - 1];
+                topCounts[position] = topCounts[position - 1];
+                position--;
+            }
+            top[position] = keys[i];
+            topCounts[position] = count;
+        }
+        return Arrays.copyOf(top, found);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                add(oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -1,90 +1,195 @@
 package tictactoe.board;
 
-import java.util.Arrays;
+public class Board implements GameBoard {
 
-public class Board {
+    private static final int SIZE = 3;
 
-    private Mark[][] squares;
+    /**
+     * Cantidad de codificaciones distintas en base 3 (3^9)
+     */
+    public static final int ENCODINGS = 19683;
 
-    public Board() {
-        this.squares = new Mark[3][3];
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                this.squares[i][j] = Mark.EMPTY;
+    /**
+     * Las ocho líneas ganadoras (3 filas, 3 columnas, 2 diagonales) expresadas
+     * como máscaras de 9 bits, donde la casilla (fila, columna) ocupa el bit
+     * fila * 3 + columna
+     */
+    private static final int[] WIN_MASKS = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000, // filas
+            0b001_001_001, 0b010_010_010, 0b100_100_100, // columnas
+            0b100_010_001, 0b001_010_100 // diagonales
+    };
+
+    /**
+     * Para cada casilla, las líneas ganadoras que pasan por ella
+     */
+    private static final int[][] LINES_THROUGH_CELL = new int[SIZE * SIZE][];
+
+    static {
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            int count = 0;
+            for (int winMask : WIN_MASKS) {
+                if ((winMask & (1 << cell)) != 0) {
+                    count++;
+                }
+            }
+            LINES_THROUGH_CELL[cell] = new int[count];
+            count = 0;
+            for (int winMask : WIN_MASKS) {
+                if ((winMask & (1 << cell)) != 0) {
+                    LINES_THROUGH_CELL[cell][count++] = winMask;
+                }
             }
         }
     }
 
-    public void printBoard() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                System.out.print(squares[i][j] + " ");
+    /**
+     * Valor en base 3 de cada máscara de 9 bits, tomando cada casilla marcada
+     * como el dígito 1
+     */
+    private static final int[] TERNARY = new int[1 << (SIZE * SIZE)];
+
+    static {
+        for (int mask = 0; mask < TERNARY.length; mask++) {
+            int value = 0;
+            for (int cell = SIZE * SIZE - 1; cell >= 0; cell--) {
+                value = value * 3 + ((mask >>> cell) & 1);
             }
-            System.out.println();
+            TERNARY[mask] = value;
         }
     }
 
-    public Mark[][] getBoard() {
-        return Arrays.copyOf(this.squares, this.squares.length);
-        // return squares ??
-    }
-
-    public boolean isGameOver() {
-        return hasWinner() || isBoardFull();
-    }
+    private int xMask;
+    private int oMask;
+    private int moveCount;
+    private Mark winner;
+    private long hash;
 
     /**
-     * Verifica si hay un ganador en el tablero
-     * 
-     * @return true si hay tres marcas iguales en fila, columna o diagonal
+     * Pila de jugadas: cada entrada guarda casilla * 2 + 1 si la marca es O.
+     * Las entradas entre moveCount y redoCount son las jugadas deshechas que se
+     * pueden rehacer.
      */
-    public boolean hasWinner() {
-        return checkRows() || checkColumns() || checkDiagonals();
+    private final int[] moves = new int[SIZE * SIZE];
+    private int redoCount;
+
+    private final BoardView view = new ReadOnlyBoardView(this);
+
+    public Board() {
+        reset();
     }
 
     /**
-     * Verifica si hay tres marcas iguales en alguna fila
+     * Vacía el tablero para reutilizarlo en una nueva partida
      */
-    private boolean checkRows() {
-        for (int i = 0; i < 3; i++) {
-            if (squares[i][0] != Mark.EMPTY &&
-                    squares[i][0] == squares[i][1] &&
-                    squares[i][1] == squares[i][2]) {
-                return true;
+    @Override
+    public void reset() {
+        this.xMask = 0;
+        this.oMask = 0;
+        this.moveCount = 0;
+        this.winner = null;
+        this.hash = 0;
+        this.redoCount = 0;
+    }
+
+    @Override
+    public Board copy() {
+        Board copy = new Board();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    @Override
+    public void copyFrom(GameBoard source) {
+        if (!(source instanceof Board)) {
+            throw new IllegalArgumentException("Cannot copy a " + source.getClass().getSimpleName());
+        }
+        Board board = (Board) source;
+        this.xMask = board.xMask;
+        this.oMask = board.oMask;
+        this.moveCount = board.moveCount;
+        this.winner = board.winner;
+        this.hash = board.hash;
+        this.redoCount = board.redoCount;
+        System.arraycopy(board.moves, 0, moves, 0, board.redoCount);
+    }
+
+    @Override
+    public int getRows() {
+        return SIZE;
+    }
+
+    @Override
+    public int getCols() {
+        return SIZE;
+    }
+
+    @Override
+    public int getWinLength() {
+        return SIZE;
+    }
+
+    @Override
+    public void printBoard() {
+        StringBuilder text = new StringBuilder(SIZE * (2 * SIZE + 1));
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                text.append(getMark(i, j)).append(' ');
             }
+            text.append(System.lineSeparator());
         }
-        return false;
+        System.out.print(text);
     }
 
     /**
-     * Verifica si hay tres marcas iguales en alguna columna
+     * Vista de solo lectura del tablero, sin copias
      */
-    private boolean checkColumns() {
-        for (int j = 0; j < 3; j++) {
-            if (squares[0][j] != Mark.EMPTY &&
-                    squares[0][j] == squares[1][j] &&
-                    squares[1][j] == squares[2][j]) {
-                return true;
+    @Override
+    public BoardView view() {
+        return view;
+    }
+
+    @Override
+    public Mark[][] getBoard() {
+        Mark[][] squares = new Mark[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                squares[i][j] = getMark(i, j);
             }
         }
-        return false;
+        return squares;
     }
 
     /**
-     * Verifica si hay tres marcas iguales en alguna diagonal
+     * Obtiene la marca de una casilla
+     * 
+     * @return X, O o EMPTY
      */
-    private boolean checkDiagonals() {
-        // Diagonal principal (0,0) -> (1,1) -> (2,2)
-        boolean mainDiagonal = squares[0][0] != Mark.EMPTY &&
-                squares[0][0] == squares[1][1] &&
-                squares[1][1] == squares[2][2];
+    @Override
+    public Mark getMark(int row, int col) {
+        int bit = 1 << (row * SIZE + col);
+        if ((xMask & bit) != 0) {
+            return Mark.X;
+        }
+        if ((oMask & bit) != 0) {
+            return Mark.O;
+        }
+        return Mark.EMPTY;
+    }
 
-        // Diagonal secundaria (0,2) -> (1,1) -> (2,0)
-        boolean antiDiagonal = squares[0][2] != Mark.EMPTY &&
-                squares[0][2] == squares[1][1] &&
-                squares[1][1] == squares[2][0];
+    @Override
+    public boolean isGameOver() {
+        return winner != null || moveCount == SIZE * SIZE;
+    }
 
-        return mainDiagonal || antiDiagonal;
+    /**
+     * Verifica si hay un ganador en el tablero
+     * 
+     * @return true si hay tres marcas iguales en fila, columna o diagonal
+     */
+    @Override
+    public boolean hasWinner() {
+        return winner != null;
     }
 
     /**
@@ -92,15 +197,17 @@ public class Board {
      * 
      * @return true si no hay espacios vacíos
      */
-    private boolean isBoardFull() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (squares[i][j] == Mark.EMPTY) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    @Override
+    public boolean isBoardFull() {
+        return moveCount == SIZE * SIZE;
+    }
+
+    /**
+     * Cantidad de marcas colocadas en el tablero
+     */
+    @Override
+    public int getMoveCount() {
+        return moveCount;
     }
 
     /**
@@ -108,90 +215,178 @@ public class Board {
      * 
      * @return la marca ganadora (X u O), o null si no hay ganador
      */
+    @Override
     public Mark getWinner() {
-        // Verificar filas
-        Mark winner = getWinnerFromRows();
-        if (winner != null)
-            return winner;
+        return winner;
+    }
 
-        // Verificar columnas
-        winner = getWinnerFromColumns();
-        if (winner != null)
-            return winner;
+    /**
+     * Hash Zobrist de la posición, actualizado en cada jugada
+     */
+    @Override
+    public long getHash() {
+        return hash;
+    }
 
-        // Verificar diagonales
-        winner = getWinnerFromDiagonals();
-        if (winner != null)
-            return winner;
+    @Override
+    public boolean isEmpty(int cell) {
+        return ((xMask | oMask) & (1 << cell)) == 0;
+    }
 
-        // No hay ganador
-        return null;
+    /**
+     * Primera casilla vacía a partir de {@code from}, buscada en la máscara de
+     * casillas libres
+     */
+    @Override
+    public int nextEmptyCell(int from) {
+        if (from >= SIZE * SIZE) {
+            return -1;
+        }
+        int empty = ~(xMask | oMask) & (TERNARY.length - 1) & (-1 << from);
+        return empty == 0 ? -1 : Integer.numberOfTrailingZeros(empty);
     }
 
     /**
-     * Busca la marca ganadora en las filas
-     * 
-     * @return la marca ganadora o null si no hay ganador en filas
-     */
-    private Mark getWinnerFromRows() {
-        for (int i = 0; i < 3; i++) {
-            if (squares[i][0] != Mark.EMPTY &&
-                    squares[i][0] == squares[i][1] &&
-                    squares[i][1] == squares[i][2]) {
-                return squares[i][0];
+     * Verifica si la máscara completa alguna línea que pasa por la casilla
+     * recién jugada
+     */
+    private static boolean completesLine(int mask, int cell) {
+        for (int winMask : LINES_THROUGH_CELL[cell]) {
+            if ((mask & winMask) == winMask) {
+                return true;
             }
         }
-        return null;
+        return false;
+    }
+
+    /**
+     * Máscara de 9 bits con las casillas ocupadas por una marca
+     */
+    public int getMask(Mark mark) {
+        return mark == Mark.X ? xMask : mark == Mark.O ? oMask : ~(xMask | oMask) & (TERNARY.length - 1);
     }
 
     /**
-     * Busca la marca ganadora en las columnas
+     * Codifica el tablero en base 3: la casilla i aporta 3^i veces 0 (vacía),
+     * 1 (X) o 2 (O)
      * 
-     * @return la marca ganadora o null si no hay ganador en columnas
-     */
-    private Mark getWinnerFromColumns() {
-        for (int j = 0; j < 3; j++) {
-            if (squares[0][j] != Mark.EMPTY &&
-                    squares[0][j] == squares[1][j] &&
-                    squares[1][j] == squares[2][j]) {
-                return squares[0][j];
+     * @return un valor entre 0 y {@link #ENCODINGS} - 1
+     */
+    public int encode() {
+        return encode(xMask, oMask);
+    }
+
+    public static int encode(int xMask, int oMask) {
+        return TERNARY[xMask] + 2 * TERNARY[oMask];
+    }
+
+    /**
+     * Verifica si una máscara contiene alguna de las líneas ganadoras
+     */
+    public static boolean isWinningMask(int mask) {
+        for (int winMask : WIN_MASKS) {
+            if ((mask & winMask) == winMask) {
+                return true;
             }
         }
-        return null;
+        return false;
+    }
+
+    @Override
+    public void setMark(Coordinate coordinate, Mark mark) throws IllegalArgumentException {
+        if (!coordinate.isInside(SIZE, SIZE)) {
+            throw new IllegalArgumentException("Invalid row or column");
+        }
+        setMark(coordinate.toCell(SIZE), mark);
     }
 
     /**
-     * Busca la marca ganadora en las diagonales
-     * 
-     * @return la marca ganadora o null si no hay ganador en diagonales
+     * Coloca una marca validando solo el índice de la casilla, sin pasar por
+     * una {@link Coordinate}
      */
-    private Mark getWinnerFromDiagonals() {
-        // Diagonal principal (0,0) -> (1,1) -> (2,2)
-        if (squares[0][0] != Mark.EMPTY &&
-                squares[0][0] == squares[1][1] &&
-                squares[1][1] == squares[2][2]) {
-            return squares[0][0];
+    @Override
+    public void setMark(int cell, Mark mark) throws IllegalArgumentException {
+        int check = checkMove(cell);
+        if (check != VALID_MOVE) {
+            throw new IllegalArgumentException(BoardView.describe(check));
         }
+        placeMark(cell, mark);
+    }
 
-        // Diagonal secundaria (0,2) -> (1,1) -> (2,0)
-        if (squares[0][2] != Mark.EMPTY &&
-                squares[0][2] == squares[1][1] &&
-                squares[1][1] == squares[2][0]) {
-            return squares[0][2];
+    @Override
+    public void placeMark(int cell, Mark mark) {
+        int bit = 1 << cell;
+        int mask;
+        if (mark == Mark.X) {
+            mask = this.xMask |= bit;
+        } else if (mark == Mark.O) {
+            mask = this.oMask |= bit;
+        } else {
+            return;
+        }
+        this.moves[moveCount] = cell << 1 | (mark == Mark.O ? 1 : 0);
+        this.moveCount++;
+        this.redoCount = moveCount;
+        this.hash ^= Zobrist.key(cell, mark);
+        // solo las líneas que pasan por la casilla jugada pueden haber cambiado
+        if (winner == null && completesLine(mask, cell)) {
+            this.winner = mark;
         }
-
-        return null;
     }
 
-    public void setMark(Coordinate coordinate, Mark mark) throws IllegalArgumentException {
-        if (coordinate.getRow() < 0 || coordinate.getRow() > 2 || coordinate.getCol() < 0 || coordinate.getCol() > 2) {
-            throw new IllegalArgumentException("Invalid row or column");
+    @Override
+    public void clearMark(int cell) {
+        int bit = 1 << cell;
+        if ((xMask & bit) != 0) {
+            this.xMask &= ~bit;
+            this.hash ^= Zobrist.key(cell, Mark.X);
+        } else if ((oMask & bit) != 0) {
+            this.oMask &= ~bit;
+            this.hash ^= Zobrist.key(cell, Mark.O);
+        } else {
+            return;
+        }
+        this.moveCount--;
+        if (winner != null) {
+            this.winner = isWinningMask(xMask) ? Mark.X : isWinningMask(oMask) ? Mark.O : null;
         }
-        if (squares[coordinate.getRow()][coordinate.getCol()] != Mark.EMPTY) {
-            throw new IllegalArgumentException("Square already taken");
+    }
+
+    @Override
+    public int getMove(int ply) {
+        return moves[ply] >>> 1;
+    }
+
+    /**
+     * Deshace la última jugada sin perderla de la pila
+     * 
+     * @return la casilla liberada, o -1 si el tablero está vacío
+     */
+    @Override
+    public int undoMove() {
+        if (moveCount == 0) {
+            return -1;
         }
+        int cell = moves[moveCount - 1] >>> 1;
+        clearMark(cell);
+        return cell;
+    }
 
-        this.squares[coordinate.getRow()][coordinate.getCol()] = mark;
+    /**
+     * Vuelve a jugar la última jugada deshecha
+     * 
+     * @return la casilla jugada, o -1 si no hay jugadas para rehacer
+     */
+    @Override
+    public int redoMove() {
+        if (redoCount == moveCount) {
+            return -1;
+        }
+        int entry = moves[moveCount];
+        int redo = redoCount;
+        placeMark(entry >>> 1, (entry & 1) == 0 ? Mark.X : Mark.O);
+        this.redoCount = redo;
+        return entry >>> 1;
     }
 
 }
@@ -0,0 +1,121 @@
+package tictactoe.board;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * Classifies large arrays of 3x3 positions without building a {@link Board}
+ * per position
+ * 
+ * A position is packed in one int: the X mask of {@link Board#getMask(Mark)}
+ * in bits 0-8 and the O mask in bits 16-24. The kernel tests the eight lines
+ * with straight-line integer arithmetic, no branches and no table lookups, so
+ * the JIT can unroll and vectorize the loop over the input array.
+ */
+public final class BoardClassifier {
+
+    /**
+     * Outcomes written by the classify methods
+     */
+    public static final byte ONGOING = 0;
+    public static final byte X_WINS = 1;
+    public static final byte O_WINS = 2;
+    public static final byte DRAW = 3;
+
+    private static final int FULL = (1 << 9) - 1;
+
+    /**
+     * Positions per parallel task and per buffer read
+     */
+    static final int CHUNK = 1 << 16;
+
+    private BoardClassifier() {
+    }
+
+    public static int pack(int xMask, int oMask) {
+        return xMask | oMask << 16;
+    }
+
+    public static int pack(Board board) {
+        return pack(board.getMask(Mark.X), board.getMask(Mark.O));
+    }
+
+    /**
+     * Outcome of a packed position. Positions where both marks have a line
+     * cannot come up in a game and read as {@link #X_WINS}.
+     */
+    public static int classify(int position) {
+        int x = position & FULL;
+        int o = (position >>> 16) & FULL;
+        int xWins = line(x, 0b000_000_111) | line(x, 0b000_111_000) | line(x, 0b111_000_000)
+                | line(x, 0b001_001_001) | line(x, 0b010_010_010) | line(x, 0b100_100_100)
+                | line(x, 0b100_010_001) | line(x, 0b001_010_100);
+        int oWins = line(o, 0b000_000_111) | line(o, 0b000_111_000) | line(o, 0b111_000_000)
+                | line(o, 0b001_001_001) | line(o, 0b010_010_010) | line(o, 0b100_100_100)
+                | line(o, 0b100_010_001) | line(o, 0b001_010_100);
+        oWins &= ~xWins;
+        int full = line(x | o, FULL);
+        int draw = full & ~(xWins | oWins);
+        return xWins | oWins << 1 | draw * DRAW;
+    }
+
+    /**
+     * @return 1 if the mask covers the line, 0 otherwise
+     */
+    private static int line(int mask, int line) {
+        return (((mask & line) ^ line) - 1) >>> 31;
+    }
+
+    public static void classify(int[] positions, byte[] outcomes) {
+        classify(positions, 0, outcomes, 0, positions.length);
+    }
+
+    /**
+     * Writes the outcomes of {@code positions[from, from + length)} to
+     * {@code outcomes[to, to + length)}
+     */
+    public static void classify(int[] positions, int from, byte[] outcomes, int to, int length) {
+        if (from < 0 || to < 0 || length < 0 || from + length > positions.length || to + length > outcomes.length) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length);
+        }
+        for (int i = 0; i < length; i++) {
+            outcomes[to + i] = (byte) classify(positions[from + i]);
+        }
+    }
+
+    /**
+     * Classifies the remaining ints of a buffer, read in the buffer's byte
+     * order, and advances its position past them
+     * 
+     * @return number of positions classified
+     */
+    public static int classify(ByteBuffer positions, byte[] outcomes, int to) {
+        IntBuffer ints = positions.asIntBuffer();
+        int count = ints.remaining();
+        int[] chunk = new int[Math.min(count, CHUNK)];
+        for (int done = 0; done < count; done += chunk.length) {
+            int length = Math.min(chunk.length, count - done);
+            ints.get(chunk, 0, length);
+            classify(chunk, 0, outcomes, to + done, length);
+        }
+        positions.position(positions.position() + count * Integer.BYTES);
+        return count;
+    }
+
+    /**
+     * Classifies on the common fork-join pool, one task per
+     * {@value #CHUNK} positions
+     */
+    public static void classifyParallel(int[] positions, byte[] outcomes) {
+        if (outcomes.length < positions.length) {
+            throw new IndexOutOfBoundsException("outcomes shorter than positions");
+        }
+        int chunks = (positions.length + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK;
+            classify(positions, from, outcomes, from, Math.min(CHUNK, positions.length - from));
+        });
+    }
+
+}
@@ -0,0 +1,116 @@
+package tictactoe.board;
+
+/**
+ * Read-only access to the squares and state of a board
+ * 
+ * Reads go straight to the board storage, so a view always shows the current
+ * position and never copies it. Observers, renderers and replay code get a
+ * view where they only need to look at the game.
+ */
+public interface BoardView {
+
+    /**
+     * {@link #checkMove(int)} results
+     */
+    int VALID_MOVE = 0;
+    int INVALID_SQUARE = 1;
+    int SQUARE_TAKEN = 2;
+    int WRONG_BOARD = 3;
+
+    int getRows();
+
+    int getCols();
+
+    /**
+     * @return number of consecutive marks needed to win
+     */
+    int getWinLength();
+
+    /**
+     * @return X, O or EMPTY for the given square
+     */
+    Mark getMark(int row, int col);
+
+    /**
+     * @param cell square index, row * cols + col
+     */
+    boolean isEmpty(int cell);
+
+    /**
+     * Validates a move without throwing, for callers that reject bad moves
+     * often, e.g. scripted input
+     * 
+     * @param cell square index, row * cols + col
+     * @return {@link #VALID_MOVE}, {@link #INVALID_SQUARE},
+     *         {@link #SQUARE_TAKEN} or, on boards that restrict where the
+     *         next mark goes, {@link #WRONG_BOARD}
+     */
+    default int checkMove(int cell) {
+        if (cell < 0 || cell >= getRows() * getCols()) {
+            return INVALID_SQUARE;
+        }
+        return isEmpty(cell) ? VALID_MOVE : SQUARE_TAKEN;
+    }
+
+    /**
+     * @return the message {@link GameBoard#setMark} rejects a move with
+     */
+    static String describe(int check) {
+        switch (check) {
+        case VALID_MOVE:
+            return "Valid move";
+        case SQUARE_TAKEN:
+            return "Square already taken";
+        case WRONG_BOARD:
+            return "Must play in the board chosen by the last move";
+        default:
+            return "Invalid row or column";
+        }
+    }
+
+    /**
+     * Finds legal moves straight from the occupancy bitmasks, without
+     * allocating:
+     * 
+     * <pre>
+     * for (int cell = board.nextEmptyCell(0); cell >= 0; cell = board.nextEmptyCell(cell + 1))
+     * </pre>
+     * 
+     * @return the first empty square with index {@code >= from}, or -1; on
+     *         boards that restrict where the next mark goes, the first legal
+     *         move
+     */
+    int nextEmptyCell(int from);
+
+    /**
+     * @return number of squares {@link #nextEmptyCell(int)} visits
+     */
+    default int getLegalMoveCount() {
+        return getRows() * getCols() - getMoveCount();
+    }
+
+    /**
+     * @return Zobrist hash of the marks on the board (see {@link Zobrist})
+     */
+    long getHash();
+
+    boolean isGameOver();
+
+    boolean hasWinner();
+
+    /**
+     * @return the winning mark, or null if there is no winner
+     */
+    Mark getWinner();
+
+    boolean isBoardFull();
+
+    int getMoveCount();
+
+    /**
+     * @param ply 0 for the first move, up to {@link #getMoveCount()} - 1
+     * @return square index of the move played at that ply
+     */
+    int getMove(int ply);
+
+}
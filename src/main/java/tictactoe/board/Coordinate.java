@@ -2,14 +2,44 @@ package tictactoe.board;
 
 public class Coordinate {
 
-    private int row;
-    private int col;
+    /**
+     * Coordenadas compartidas para los tableros de hasta
+     * {@link MnkBoard#MAX_ROWS} x {@link MnkBoard#MAX_COLS} casillas
+     */
+    private static final Coordinate[] INTERNED = new Coordinate[MnkBoard.MAX_ROWS * MnkBoard.MAX_COLS];
+
+    static {
+        for (int i = 0; i < INTERNED.length; i++) {
+            INTERNED[i] = new Coordinate(i / MnkBoard.MAX_COLS, i % MnkBoard.MAX_COLS);
+        }
+    }
+
+    private final int row;
+    private final int col;
 
     public Coordinate(int row, int col) {
         this.row = row;
         this.col = col;
     }
 
+    /**
+     * Obtiene la coordenada sin crear un objeto nuevo cuando cae dentro del
+     * tablero más grande soportado
+     */
+    public static Coordinate of(int row, int col) {
+        if (row >= 0 && row < MnkBoard.MAX_ROWS && col >= 0 && col < MnkBoard.MAX_COLS) {
+            return INTERNED[row * MnkBoard.MAX_COLS + col];
+        }
+        return new Coordinate(row, col);
+    }
+
+    /**
+     * Coordenada de la casilla con índice fila * columnas + columna
+     */
+    public static Coordinate ofCell(int cell, int cols) {
+        return of(cell / cols, cell % cols);
+    }
+
     public int getRow() {
         return row;
     }
@@ -18,4 +48,37 @@ public class Coordinate {
         return col;
     }
 
+    /**
+     * Verifica si la coordenada cae dentro de un tablero de las dimensiones dadas
+     */
+    public boolean isInside(int rows, int cols) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Índice de la casilla en un tablero con la cantidad de columnas dada
+     */
+    public int toCell(int cols) {
+        return row * cols + col;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Coordinate)) {
+            return false;
+        }
+        Coordinate coordinate = (Coordinate) other;
+        return row == coordinate.row && col == coordinate.col;
+    }
+
+    @Override
+    public int hashCode() {
+        return row * 31 + col;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + row + ", " + col + ")";
+    }
+
 }
@@ -0,0 +1,95 @@
+package tictactoe.board;
+
+/**
+ * Common contract of the boards a {@link tictactoe.turns.Turn} can be played
+ * on: a grid of rows x columns where a player wins by placing
+ * {@link #getWinLength()} marks in a row, column or diagonal
+ * 
+ * Every board keeps the moves played on it in a primitive stack, so moves can
+ * be taken back and replayed without copying the board.
+ */
+public interface GameBoard extends BoardView {
+
+    /**
+     * Places a mark on an empty square
+     * 
+     * @throws IllegalArgumentException if the coordinate is outside the board
+     *                                  or the square is already taken
+     */
+    void setMark(Coordinate coordinate, Mark mark) throws IllegalArgumentException;
+
+    /**
+     * Places a mark on an empty square given by its index
+     * 
+     * @param cell square index, row * cols + col
+     * @throws IllegalArgumentException if the index is outside the board or
+     *                                  the square is already taken
+     */
+    void setMark(int cell, Mark mark) throws IllegalArgumentException;
+
+    /**
+     * Places a mark without validating the square, for search code that only
+     * plays empty squares of an unfinished game. Keeps the winner, move count
+     * and hash up to date, pushes the move on the move stack and discards the
+     * moves that could be redone.
+     * 
+     * @param cell square index, row * cols + col
+     */
+    void placeMark(int cell, Mark mark);
+
+    /**
+     * Removes a mark placed with {@link #placeMark(int, Mark)}. Marks must be
+     * removed in the reverse order they were placed; the move stays available
+     * to {@link #redoMove()}.
+     * 
+     * @param cell square index, row * cols + col
+     */
+    void clearMark(int cell);
+
+    /**
+     * Takes back the last move
+     * 
+     * @return square index of the removed move, or -1 if there is none
+     */
+    int undoMove();
+
+    /**
+     * Plays again the last move taken back, unless another move was placed
+     * since
+     * 
+     * @return square index of the replayed move, or -1 if there is none
+     */
+    int redoMove();
+
+    /**
+     * @return a read-only view of this board that follows every change
+     */
+    BoardView view();
+
+    /**
+     * Empties the board so it can be reused for a new game
+     */
+    void reset();
+
+    /**
+     * @return an independent board with the same marks
+     */
+    GameBoard copy();
+
+    /**
+     * Overwrites this board with the marks of another board of the same kind
+     * and size, without allocating
+     * 
+     * @throws IllegalArgumentException if the boards are not compatible
+     */
+    void copyFrom(GameBoard source);
+
+    /**
+     * @return a new array with the marks of every square; use {@link #view()}
+     *         to read the board without copying it
+     */
+    Mark[][] getBoard();
+
+    void printBoard();
+
+}
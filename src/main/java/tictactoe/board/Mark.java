@@ -9,6 +9,19 @@ public enum Mark {
         this.value = value;
     }
 
+    /**
+     * @return the mark of the other player (EMPTY stays EMPTY)
+     */
+    public Mark opponent() {
+        if (this == X) {
+            return O;
+        }
+        if (this == O) {
+            return X;
+        }
+        return EMPTY;
+    }
+
     @Override
     public String toString() {
         return value;
@@ -0,0 +1,347 @@
+package tictactoe.board;
+
+/**
+ * Board of any size (m rows x n columns) where k marks in a row win, e.g.
+ * 15x15 or 19x19 Gomoku with k = 5
+ * 
+ * Each row is packed into a {@code long} per mark (hence at most 64 columns),
+ * and every row, column and diagonal keeps a counter of the marks each player
+ * has on it. After a move only the four lines through the played square are
+ * inspected, and only when their counter already reaches k, so the win check
+ * costs O(k) regardless of the board size.
+ */
+public class MnkBoard implements GameBoard {
+
+    public static final int MAX_ROWS = 64;
+    public static final int MAX_COLS = Long.SIZE;
+
+    private final int rows;
+    private final int cols;
+    private final int winLength;
+
+    private final long[] xRows;
+    private final long[] oRows;
+
+    // marks per line, indexed by [mark][line]
+    private final int[][] rowCounts;
+    private final int[][] colCounts;
+    private final int[][] diagonalCounts; // row - col + cols - 1
+    private final int[][] antiDiagonalCounts; // row + col
+
+    private int moveCount;
+    private Mark winner;
+    private int winningMoveCount;
+    private long hash;
+
+    // move stack, cell * 2 + 1 for O; entries in [moveCount, redoCount) can be redone
+    private final int[] moves;
+    private int redoCount;
+
+    private final BoardView view = new ReadOnlyBoardView(this);
+
+    public MnkBoard(int rows, int cols, int winLength) {
+        if (rows < 1 || rows > MAX_ROWS || cols < 1 || cols > MAX_COLS) {
+            throw new IllegalArgumentException("Invalid board size " + rows + "x" + cols);
+        }
+        if (winLength < 1 || winLength > Math.max(rows, cols)) {
+            throw new IllegalArgumentException("Invalid win length " + winLength);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+        this.xRows = new long[rows];
+        this.oRows = new long[rows];
+        this.rowCounts = new int[2][rows];
+        this.colCounts = new int[2][cols];
+        this.diagonalCounts = new int[2][rows + cols - 1];
+        this.antiDiagonalCounts = new int[2][rows + cols - 1];
+        this.moves = new int[rows * cols];
+        this.moveCount = 0;
+        this.winner = null;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public int getWinLength() {
+        return winLength;
+    }
+
+    @Override
+    public Mark getMark(int row, int col) {
+        long bit = 1L << col;
+        if ((xRows[row] & bit) != 0) {
+            return Mark.X;
+        }
+        if ((oRows[row] & bit) != 0) {
+            return Mark.O;
+        }
+        return Mark.EMPTY;
+    }
+
+    @Override
+    public void setMark(Coordinate coordinate, Mark mark) throws IllegalArgumentException {
+        if (!coordinate.isInside(rows, cols)) {
+            throw new IllegalArgumentException("Invalid row or column");
+        }
+        setMark(coordinate.toCell(cols), mark);
+    }
+
+    @Override
+    public void setMark(int cell, Mark mark) throws IllegalArgumentException {
+        int check = checkMove(cell);
+        if (check != VALID_MOVE) {
+            throw new IllegalArgumentException(BoardView.describe(check));
+        }
+        placeMark(cell, mark);
+    }
+
+    @Override
+    public boolean isEmpty(int cell) {
+        int row = cell / cols;
+        return ((xRows[row] | oRows[row]) & (1L << (cell - row * cols))) == 0;
+    }
+
+    @Override
+    public int nextEmptyCell(int from) {
+        if (from >= rows * cols) {
+            return -1;
+        }
+        int row = from / cols;
+        long full = cols == Long.SIZE ? -1L : (1L << cols) - 1;
+        long empty = ~(xRows[row] | oRows[row]) & full & (-1L << (from - row * cols));
+        while (empty == 0) {
+            if (++row == rows) {
+                return -1;
+            }
+            empty = ~(xRows[row] | oRows[row]) & full;
+        }
+        return row * cols + Long.numberOfTrailingZeros(empty);
+    }
+
+    @Override
+    public void placeMark(int cell, Mark mark) {
+        long[] marks;
+        if (mark == Mark.X) {
+            marks = xRows;
+        } else if (mark == Mark.O) {
+            marks = oRows;
+        } else {
+            return;
+        }
+        int row = cell / cols;
+        int col = cell - row * cols;
+        marks[row] |= 1L << col;
+        this.moves[moveCount] = cell << 1 | (mark == Mark.O ? 1 : 0);
+        this.moveCount++;
+        this.redoCount = moveCount;
+        this.hash ^= Zobrist.key(cell, mark);
+
+        int player = mark.ordinal();
+        int diagonal = row - col + cols - 1;
+        int antiDiagonal = row + col;
+        rowCounts[player][row]++;
+        colCounts[player][col]++;
+        diagonalCounts[player][diagonal]++;
+        antiDiagonalCounts[player][antiDiagonal]++;
+
+        if (winner == null && (rowCounts[player][row] >= winLength && runLength(marks, row, col, 0, 1) >= winLength
+                || colCounts[player][col] >= winLength && runLength(marks, row, col, 1, 0) >= winLength
+                || diagonalCounts[player][diagonal] >= winLength && runLength(marks, row, col, 1, 1) >= winLength
+                || antiDiagonalCounts[player][antiDiagonal] >= winLength
+                        && runLength(marks, row, col, 1, -1) >= winLength)) {
+            this.winner = mark;
+            this.winningMoveCount = moveCount;
+        }
+    }
+
+    @Override
+    public void clearMark(int cell) {
+        int row = cell / cols;
+        int col = cell - row * cols;
+        long bit = 1L << col;
+        Mark mark;
+        if ((xRows[row] & bit) != 0) {
+            mark = Mark.X;
+            xRows[row] &= ~bit;
+        } else if ((oRows[row] & bit) != 0) {
+            mark = Mark.O;
+            oRows[row] &= ~bit;
+        } else {
+            return;
+        }
+        this.hash ^= Zobrist.key(cell, mark);
+
+        int player = mark.ordinal();
+        rowCounts[player][row]--;
+        colCounts[player][col]--;
+        diagonalCounts[player][row - col + cols - 1]--;
+        antiDiagonalCounts[player][row + col]--;
+
+        // marks are removed last-in first-out, so the win disappears with the move that made it
+        if (winner != null && moveCount == winningMoveCount) {
+            this.winner = null;
+        }
+        this.moveCount--;
+    }
+
+    @Override
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public int getMove(int ply) {
+        return moves[ply] >>> 1;
+    }
+
+    @Override
+    public int undoMove() {
+        if (moveCount == 0) {
+            return -1;
+        }
+        int cell = moves[moveCount - 1] >>> 1;
+        clearMark(cell);
+        return cell;
+    }
+
+    @Override
+    public int redoMove() {
+        if (redoCount == moveCount) {
+            return -1;
+        }
+        int entry = moves[moveCount];
+        int redo = redoCount;
+        placeMark(entry >>> 1, (entry & 1) == 0 ? Mark.X : Mark.O);
+        this.redoCount = redo;
+        return entry >>> 1;
+    }
+
+    @Override
+    public BoardView view() {
+        return view;
+    }
+
+    /**
+     * Length of the run of marks through (row, col) along the given direction,
+     * looking at most k - 1 squares each way
+     */
+    private int runLength(long[] marks, int row, int col, int rowStep, int colStep) {
+        int length = 1;
+        for (int sign = -1; sign <= 1; sign += 2) {
+            int r = row + sign * rowStep;
+            int c = col + sign * colStep;
+            while (length < winLength && r >= 0 && r < rows && c >= 0 && c < cols
+                    && (marks[r] & (1L << c)) != 0) {
+                length++;
+                r += sign * rowStep;
+                c += sign * colStep;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public void reset() {
+        java.util.Arrays.fill(xRows, 0);
+        java.util.Arrays.fill(oRows, 0);
+        for (int player = 0; player < 2; player++) {
+            java.util.Arrays.fill(rowCounts[player], 0);
+            java.util.Arrays.fill(colCounts[player], 0);
+            java.util.Arrays.fill(diagonalCounts[player], 0);
+            java.util.Arrays.fill(antiDiagonalCounts[player], 0);
+        }
+        this.moveCount = 0;
+        this.winner = null;
+        this.hash = 0;
+        this.redoCount = 0;
+    }
+
+    @Override
+    public MnkBoard copy() {
+        MnkBoard copy = new MnkBoard(rows, cols, winLength);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    @Override
+    public void copyFrom(GameBoard source) {
+        if (!(source instanceof MnkBoard) || source.getRows() != rows || source.getCols() != cols
+                || source.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Cannot copy a " + source.getRows() + "x" + source.getCols() + " "
+                    + source.getClass().getSimpleName());
+        }
+        MnkBoard board = (MnkBoard) source;
+        System.arraycopy(board.xRows, 0, xRows, 0, rows);
+        System.arraycopy(board.oRows, 0, oRows, 0, rows);
+        for (int player = 0; player < 2; player++) {
+            System.arraycopy(board.rowCounts[player], 0, rowCounts[player], 0, rows);
+            System.arraycopy(board.colCounts[player], 0, colCounts[player], 0, cols);
+            System.arraycopy(board.diagonalCounts[player], 0, diagonalCounts[player], 0, rows + cols - 1);
+            System.arraycopy(board.antiDiagonalCounts[player], 0, antiDiagonalCounts[player], 0, rows + cols - 1);
+        }
+        this.moveCount = board.moveCount;
+        this.winner = board.winner;
+        this.winningMoveCount = board.winningMoveCount;
+        this.hash = board.hash;
+        this.redoCount = board.redoCount;
+        System.arraycopy(board.moves, 0, moves, 0, board.redoCount);
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return winner != null || isBoardFull();
+    }
+
+    @Override
+    public boolean hasWinner() {
+        return winner != null;
+    }
+
+    @Override
+    public Mark getWinner() {
+        return winner;
+    }
+
+    @Override
+    public boolean isBoardFull() {
+        return moveCount == rows * cols;
+    }
+
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    @Override
+    public Mark[][] getBoard() {
+        Mark[][] squares = new Mark[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                squares[i][j] = getMark(i, j);
+            }
+        }
+        return squares;
+    }
+
+    @Override
+    public void printBoard() {
+        StringBuilder text = new StringBuilder(rows * (2 * cols + 1));
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                text.append(getMark(i, j)).append(' ');
+            }
+            text.append(System.lineSeparator());
+        }
+        System.out.print(text);
+    }
+
+}
@@ -0,0 +1,90 @@
+package tictactoe.board;
+
+/**
+ * View handed out by {@link GameBoard#view()}: forwards reads to the board and
+ * cannot be cast back to it
+ */
+final class ReadOnlyBoardView implements BoardView {
+
+    private final BoardView board;
+
+    ReadOnlyBoardView(BoardView board) {
+        this.board = board;
+    }
+
+    @Override
+    public int getRows() {
+        return board.getRows();
+    }
+
+    @Override
+    public int getCols() {
+        return board.getCols();
+    }
+
+    @Override
+    public int getWinLength() {
+        return board.getWinLength();
+    }
+
+    @Override
+    public Mark getMark(int row, int col) {
+        return board.getMark(row, col);
+    }
+
+    @Override
+    public boolean isEmpty(int cell) {
+        return board.isEmpty(cell);
+    }
+
+    @Override
+    public int checkMove(int cell) {
+        return board.checkMove(cell);
+    }
+
+    @Override
+    public int nextEmptyCell(int from) {
+        return board.nextEmptyCell(from);
+    }
+
+    @Override
+    public int getLegalMoveCount() {
+        return board.getLegalMoveCount();
+    }
+
+    @Override
+    public long getHash() {
+        return board.getHash();
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return board.isGameOver();
+    }
+
+    @Override
+    public boolean hasWinner() {
+        return board.hasWinner();
+    }
+
+    @Override
+    public Mark getWinner() {
+        return board.getWinner();
+    }
+
+    @Override
+    public boolean isBoardFull() {
+        return board.isBoardFull();
+    }
+
+    @Override
+    public int getMoveCount() {
+        return board.getMoveCount();
+    }
+
+    @Override
+    public int getMove(int ply) {
+        return board.getMove(ply);
+    }
+
+}
@@ -0,0 +1,131 @@
+package tictactoe.board;
+
+/**
+ * Maps 3x3 positions to a canonical representative among their 8 rotations
+ * and reflections, and maps squares between orientations
+ * 
+ * Positions are packed as {@code xMask | oMask << 9} (see {@link #pack}).
+ * Every transform is a precomputed table over the 512 possible masks, so
+ * canonicalizing costs 16 lookups and never allocates. Transform 0 is the
+ * identity, 1-3 rotate 90, 180 and 270 degrees clockwise, and 4-7 mirror
+ * left-right before rotating.
+ */
+public final class Symmetry {
+
+    public static final int TRANSFORMS = 8;
+    public static final int IDENTITY = 0;
+
+    private static final int CELLS = 9;
+    private static final int MASK = (1 << CELLS) - 1;
+
+    // [transform][cell] -> cell in the transformed orientation
+    private static final int[][] CELL_MAP = new int[TRANSFORMS][CELLS];
+    // [transform][mask] -> transformed mask
+    private static final int[][] MASK_MAP = new int[TRANSFORMS][1 << CELLS];
+    private static final int[] INVERSE = new int[TRANSFORMS];
+
+    static {
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                int row = cell / 3;
+                int col = cell % 3;
+                if (t >= 4) {
+                    col = 2 - col;
+                }
+                for (int turn = 0; turn < t % 4; turn++) {
+                    int rotatedRow = col;
+                    col = 2 - row;
+                    row = rotatedRow;
+                }
+                CELL_MAP[t][cell] = row * 3 + col;
+            }
+            for (int mask = 0; mask <= MASK; mask++) {
+                int mapped = 0;
+                for (int cell = 0; cell < CELLS; cell++) {
+                    if ((mask & (1 << cell)) != 0) {
+                        mapped |= 1 << CELL_MAP[t][cell];
+                    }
+                }
+                MASK_MAP[t][mask] = mapped;
+            }
+        }
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int u = 0; u < TRANSFORMS; u++) {
+                if (CELL_MAP[u][CELL_MAP[t][1]] == 1 && CELL_MAP[u][CELL_MAP[t][2]] == 2) {
+                    INVERSE[t] = u;
+                }
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    public static int pack(int xMask, int oMask) {
+        return xMask | oMask << CELLS;
+    }
+
+    public static int pack(Board board) {
+        return pack(board.getMask(Mark.X), board.getMask(Mark.O));
+    }
+
+    public static int xMask(int packed) {
+        return packed & MASK;
+    }
+
+    public static int oMask(int packed) {
+        return (packed >>> CELLS) & MASK;
+    }
+
+    public static int transform(int packed, int transform) {
+        int[] map = MASK_MAP[transform];
+        return map[packed & MASK] | map[(packed >>> CELLS) & MASK] << CELLS;
+    }
+
+    /**
+     * @return the transform that takes the position to its canonical form, the
+     *         one with the smallest packed value
+     */
+    public static int canonicalTransform(int packed) {
+        int best = packed;
+        int bestTransform = IDENTITY;
+        for (int t = 1; t < TRANSFORMS; t++) {
+            int candidate = transform(packed, t);
+            if (candidate < best) {
+                best = candidate;
+                bestTransform = t;
+            }
+        }
+        return bestTransform;
+    }
+
+    /**
+     * @return the canonical form of the position; all 8 orientations of a
+     *         position share it
+     */
+    public static int canonical(int packed) {
+        return transform(packed, canonicalTransform(packed));
+    }
+
+    /**
+     * @return the square that {@code cell} becomes after the transform, e.g. to
+     *         move from the original to the canonical orientation
+     */
+    public static int mapCell(int cell, int transform) {
+        return CELL_MAP[transform][cell];
+    }
+
+    /**
+     * @return the square that became {@code cell} under the transform, e.g. to
+     *         bring a move found on the canonical position back to the original
+     *         board
+     */
+    public static int unmapCell(int cell, int transform) {
+        return CELL_MAP[INVERSE[transform]][cell];
+    }
+
+    public static int inverse(int transform) {
+        return INVERSE[transform];
+    }
+
+}
@@ -0,0 +1,474 @@
+package tictactoe.board;
+
+/**
+ * Ultimate tic-tac-toe: nine 3x3 sub-boards laid out as a 9x9 grid
+ * 
+ * Winning a sub-board claims its square of the 3x3 meta-board, and three
+ * claimed squares in a row win the game. The square played inside a
+ * sub-board sends the opponent to the sub-board in the same position; when
+ * that one is already won or full the opponent may play in any open
+ * sub-board. The board enforces that rule through
+ * {@link #checkMove(int)}, which Turn consults before every move.
+ * 
+ * Every sub-board is a pair of 9-bit masks laid out like {@link Board}, and so
+ * is the meta-board. Sub-board wins come from a 512-entry table built from
+ * {@link Board#isWinningMask(int)}, and the legal moves are kept as an 81-bit
+ * mask assembled from per-sub-board lookup tables, so generating them costs
+ * at most nine array reads.
+ * 
+ * Squares are numbered row * 9 + col like on any other board.
+ */
+public class UltimateBoard implements GameBoard {
+
+    public static final int SIZE = 9;
+    public static final int CELLS = SIZE * SIZE;
+
+    private static final int FULL = (1 << 9) - 1;
+
+    private static final boolean[] WINNING = new boolean[1 << 9];
+    // sub-board and square inside it of every cell, and back
+    private static final int[] SUB_BOARD = new int[CELLS];
+    private static final int[] LOCAL = new int[CELLS];
+    private static final int[] CELL = new int[CELLS];
+    // cells of the free squares of a sub-board, as the low 64 and high 17 bits of an 81-bit mask
+    private static final long[][] LEGAL_LOW = new long[9][1 << 9];
+    private static final long[][] LEGAL_HIGH = new long[9][1 << 9];
+
+    static {
+        for (int mask = 0; mask < WINNING.length; mask++) {
+            WINNING[mask] = Board.isWinningMask(mask);
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            int row = cell / SIZE;
+            int col = cell % SIZE;
+            SUB_BOARD[cell] = (row / 3) * 3 + col / 3;
+            LOCAL[cell] = (row % 3) * 3 + col % 3;
+            CELL[SUB_BOARD[cell] * 9 + LOCAL[cell]] = cell;
+        }
+        for (int sub = 0; sub < 9; sub++) {
+            for (int free = 0; free < 1 << 9; free++) {
+                for (int local = 0; local < 9; local++) {
+                    if ((free & (1 << local)) != 0) {
+                        int cell = CELL[sub * 9 + local];
+                        if (cell < Long.SIZE) {
+                            LEGAL_LOW[sub][free] |= 1L << cell;
+                        } else {
+                            LEGAL_HIGH[sub][free] |= 1L << (cell - Long.SIZE);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private final int[] xSub = new int[9];
+    private final int[] oSub = new int[9];
+    // free squares of each sub-board, 0 once it is won or full
+    private final int[] free = new int[9];
+    private int xMeta;
+    private int oMeta;
+    private int closedMeta;
+    private int forcedBoard;
+    private long legalLow;
+    private long legalHigh;
+
+    private int moveCount;
+    private Mark winner;
+    private long hash;
+
+    // move stack, cell * 2 + 1 for O; entries in [moveCount, redoCount) can be redone
+    private final int[] moves = new int[CELLS];
+    private int redoCount;
+
+    private final BoardView view = new ReadOnlyBoardView(this);
+
+    public UltimateBoard() {
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        java.util.Arrays.fill(xSub, 0);
+        java.util.Arrays.fill(oSub, 0);
+        java.util.Arrays.fill(free, FULL);
+        this.xMeta = 0;
+        this.oMeta = 0;
+        this.closedMeta = 0;
+        this.forcedBoard = -1;
+        this.moveCount = 0;
+        this.winner = null;
+        this.hash = 0;
+        this.redoCount = 0;
+        updateLegalMoves();
+    }
+
+    @Override
+    public UltimateBoard copy() {
+        UltimateBoard copy = new UltimateBoard();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    @Override
+    public void copyFrom(GameBoard source) {
+        if (!(source instanceof UltimateBoard)) {
+            throw new IllegalArgumentException("Cannot copy a " + source.getClass().getSimpleName());
+        }
+        UltimateBoard board = (UltimateBoard) source;
+        System.arraycopy(board.xSub, 0, xSub, 0, 9);
+        System.arraycopy(board.oSub, 0, oSub, 0, 9);
+        System.arraycopy(board.free, 0, free, 0, 9);
+        this.xMeta = board.xMeta;
+        this.oMeta = board.oMeta;
+        this.closedMeta = board.closedMeta;
+        this.forcedBoard = board.forcedBoard;
+        this.legalLow = board.legalLow;
+        this.legalHigh = board.legalHigh;
+        this.moveCount = board.moveCount;
+        this.winner = board.winner;
+        this.hash = board.hash;
+        this.redoCount = board.redoCount;
+        System.arraycopy(board.moves, 0, moves, 0, board.redoCount);
+    }
+
+    @Override
+    public int getRows() {
+        return SIZE;
+    }
+
+    @Override
+    public int getCols() {
+        return SIZE;
+    }
+
+    /**
+     * @return sub-boards in a row needed on the meta-board
+     */
+    @Override
+    public int getWinLength() {
+        return 3;
+    }
+
+    @Override
+    public Mark getMark(int row, int col) {
+        int cell = row * SIZE + col;
+        int bit = 1 << LOCAL[cell];
+        int sub = SUB_BOARD[cell];
+        if ((xSub[sub] & bit) != 0) {
+            return Mark.X;
+        }
+        if ((oSub[sub] & bit) != 0) {
+            return Mark.O;
+        }
+        return Mark.EMPTY;
+    }
+
+    @Override
+    public boolean isEmpty(int cell) {
+        int sub = SUB_BOARD[cell];
+        return ((xSub[sub] | oSub[sub]) & (1 << LOCAL[cell])) == 0;
+    }
+
+    /**
+     * @return {@link #WRONG_BOARD} for an empty square outside the sub-boards
+     *         the player to move may use
+     */
+    @Override
+    public int checkMove(int cell) {
+        if (cell < 0 || cell >= CELLS) {
+            return INVALID_SQUARE;
+        }
+        if (!isEmpty(cell)) {
+            return SQUARE_TAKEN;
+        }
+        long legal = cell < Long.SIZE ? legalLow >>> cell : legalHigh >>> (cell - Long.SIZE);
+        return (legal & 1) != 0 ? VALID_MOVE : WRONG_BOARD;
+    }
+
+    /**
+     * @return the next legal move from {@code from} on, in square order
+     */
+    @Override
+    public int nextEmptyCell(int from) {
+        if (from < Long.SIZE) {
+            long low = legalLow & (-1L << from);
+            if (low != 0) {
+                return Long.numberOfTrailingZeros(low);
+            }
+            from = Long.SIZE;
+        }
+        if (from >= CELLS) {
+            return -1;
+        }
+        long high = legalHigh & (-1L << (from - Long.SIZE));
+        return high == 0 ? -1 : Long.SIZE + Long.numberOfTrailingZeros(high);
+    }
+
+    @Override
+    public int getLegalMoveCount() {
+        return Long.bitCount(legalLow) + Long.bitCount(legalHigh);
+    }
+
+    /**
+     * Low 64 squares of the legal move mask, bit i for square i
+     */
+    public long getLegalMovesLow() {
+        return legalLow;
+    }
+
+    /**
+     * Squares 64 to 80 of the legal move mask, bit i for square 64 + i
+     */
+    public long getLegalMovesHigh() {
+        return legalHigh;
+    }
+
+    /**
+     * @return the sub-board the player to move must use, or -1 for any open
+     *         one
+     */
+    public int getForcedBoard() {
+        return forcedBoard;
+    }
+
+    /**
+     * @param sub sub-board index, (row / 3) * 3 + col / 3
+     * @return the mark that won the sub-board, or null
+     */
+    public Mark getSubBoardWinner(int sub) {
+        int bit = 1 << sub;
+        return (xMeta & bit) != 0 ? Mark.X : (oMeta & bit) != 0 ? Mark.O : null;
+    }
+
+    /**
+     * @return 9-bit mask of the sub-boards won by the mark
+     */
+    public int getMetaMask(Mark mark) {
+        return mark == Mark.X ? xMeta : mark == Mark.O ? oMeta : FULL & ~closedMeta;
+    }
+
+    /**
+     * @return a standalone 3x3 board with the marks of a sub-board
+     */
+    public Board getSubBoard(int sub) {
+        Board board = new Board();
+        for (int local = 0; local < 9; local++) {
+            if ((xSub[sub] & (1 << local)) != 0) {
+                board.placeMark(local, Mark.X);
+            } else if ((oSub[sub] & (1 << local)) != 0) {
+                board.placeMark(local, Mark.O);
+            }
+        }
+        return board;
+    }
+
+    @Override
+    public void setMark(Coordinate coordinate, Mark mark) throws IllegalArgumentException {
+        if (!coordinate.isInside(SIZE, SIZE)) {
+            throw new IllegalArgumentException("Invalid row or column");
+        }
+        setMark(coordinate.toCell(SIZE), mark);
+    }
+
+    @Override
+    public void setMark(int cell, Mark mark) throws IllegalArgumentException {
+        int check = checkMove(cell);
+        if (check != VALID_MOVE) {
+            throw new IllegalArgumentException(BoardView.describe(check));
+        }
+        placeMark(cell, mark);
+    }
+
+    @Override
+    public void placeMark(int cell, Mark mark) {
+        int sub = SUB_BOARD[cell];
+        int local = LOCAL[cell];
+        int bit = 1 << local;
+        int own;
+        if (mark == Mark.X) {
+            own = xSub[sub] |= bit;
+        } else if (mark == Mark.O) {
+            own = oSub[sub] |= bit;
+        } else {
+            return;
+        }
+        this.moves[moveCount] = cell << 1 | (mark == Mark.O ? 1 : 0);
+        this.moveCount++;
+        this.redoCount = moveCount;
+        this.hash ^= Zobrist.key(cell, mark) ^ forcedKey(forcedBoard);
+
+        free[sub] &= ~bit;
+        if (WINNING[own]) {
+            int meta = mark == Mark.X ? (xMeta |= 1 << sub) : (oMeta |= 1 << sub);
+            free[sub] = 0;
+            if (winner == null && WINNING[meta]) {
+                this.winner = mark;
+            }
+        }
+        if (free[sub] == 0) {
+            closedMeta |= 1 << sub;
+        }
+        this.forcedBoard = forcedAfter(local);
+        this.hash ^= forcedKey(forcedBoard);
+        updateLegalMoves();
+    }
+
+    @Override
+    public void clearMark(int cell) {
+        int sub = SUB_BOARD[cell];
+        int bit = 1 << LOCAL[cell];
+        Mark mark;
+        if ((xSub[sub] & bit) != 0) {
+            mark = Mark.X;
+            xSub[sub] &= ~bit;
+        } else if ((oSub[sub] & bit) != 0) {
+            mark = Mark.O;
+            oSub[sub] &= ~bit;
+        } else {
+            return;
+        }
+        this.moveCount--;
+        this.hash ^= Zobrist.key(cell, mark) ^ forcedKey(forcedBoard);
+
+        // marks are removed last-in first-out, so only this sub-board and the move before change
+        int subBit = 1 << sub;
+        boolean xWon = WINNING[xSub[sub]];
+        boolean oWon = WINNING[oSub[sub]];
+        xMeta = xWon ? xMeta | subBit : xMeta & ~subBit;
+        oMeta = oWon ? oMeta | subBit : oMeta & ~subBit;
+        free[sub] = xWon || oWon ? 0 : ~(xSub[sub] | oSub[sub]) & FULL;
+        closedMeta = free[sub] == 0 ? closedMeta | subBit : closedMeta & ~subBit;
+        if (winner != null) {
+            this.winner = WINNING[xMeta] ? Mark.X : WINNING[oMeta] ? Mark.O : null;
+        }
+        this.forcedBoard = moveCount == 0 ? -1 : forcedAfter(LOCAL[moves[moveCount - 1] >>> 1]);
+        this.hash ^= forcedKey(forcedBoard);
+        updateLegalMoves();
+    }
+
+    private int forcedAfter(int local) {
+        return (closedMeta & (1 << local)) != 0 ? -1 : local;
+    }
+
+    /**
+     * The forced sub-board changes the legal moves, so it is part of the hash
+     * through the keys of the squares past the 81 real ones
+     */
+    private static long forcedKey(int forcedBoard) {
+        return forcedBoard < 0 ? 0 : Zobrist.key(CELLS + forcedBoard, Mark.X);
+    }
+
+    private void updateLegalMoves() {
+        if (winner != null) {
+            legalLow = 0;
+            legalHigh = 0;
+        } else if (forcedBoard >= 0) {
+            legalLow = LEGAL_LOW[forcedBoard][free[forcedBoard]];
+            legalHigh = LEGAL_HIGH[forcedBoard][free[forcedBoard]];
+        } else {
+            long low = 0;
+            long high = 0;
+            for (int sub = 0; sub < 9; sub++) {
+                low |= LEGAL_LOW[sub][free[sub]];
+                high |= LEGAL_HIGH[sub][free[sub]];
+            }
+            legalLow = low;
+            legalHigh = high;
+        }
+    }
+
+    @Override
+    public int getMove(int ply) {
+        return moves[ply] >>> 1;
+    }
+
+    @Override
+    public int undoMove() {
+        if (moveCount == 0) {
+            return -1;
+        }
+        int cell = moves[moveCount - 1] >>> 1;
+        clearMark(cell);
+        return cell;
+    }
+
+    @Override
+    public int redoMove() {
+        if (redoCount == moveCount) {
+            return -1;
+        }
+        int entry = moves[moveCount];
+        int redo = redoCount;
+        placeMark(entry >>> 1, (entry & 1) == 0 ? Mark.X : Mark.O);
+        this.redoCount = redo;
+        return entry >>> 1;
+    }
+
+    @Override
+    public BoardView view() {
+        return view;
+    }
+
+    @Override
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return winner != null || closedMeta == FULL;
+    }
+
+    @Override
+    public boolean hasWinner() {
+        return winner != null;
+    }
+
+    @Override
+    public Mark getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return true when every sub-board is won or full
+     */
+    @Override
+    public boolean isBoardFull() {
+        return closedMeta == FULL;
+    }
+
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    @Override
+    public Mark[][] getBoard() {
+        Mark[][] squares = new Mark[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                squares[i][j] = getMark(i, j);
+            }
+        }
+        return squares;
+    }
+
+    @Override
+    public void printBoard() {
+        StringBuilder text = new StringBuilder(SIZE * (2 * SIZE + 5) + 2 * (2 * SIZE + 5));
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0 && i % 3 == 0) {
+                text.append("------+-------+------").append(System.lineSeparator());
+            }
+            for (int j = 0; j < SIZE; j++) {
+                if (j > 0 && j % 3 == 0) {
+                    text.append("| ");
+                }
+                text.append(getMark(i, j)).append(' ');
+            }
+            text.append(System.lineSeparator());
+        }
+        System.out.print(text);
+    }
+
+}
@@ -0,0 +1,50 @@
+package tictactoe.board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fixed random keys used to hash positions incrementally: a board's hash is
+ * the XOR of the key of every (square, mark) on it, so placing or removing a
+ * mark is a single XOR
+ * 
+ * Squares are numbered row * cols + col. Keys come from a fixed seed, so the
+ * same position always has the same hash across runs.
+ */
+public final class Zobrist {
+
+    public static final int MAX_CELLS = MnkBoard.MAX_ROWS * MnkBoard.MAX_COLS;
+
+    private static final long[] KEYS = new long[2 * MAX_CELLS];
+
+    /**
+     * Key XORed into a position hash when O is the player to move
+     */
+    public static final long SIDE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x9E3779B97F4A7C15L);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+        SIDE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param cell square index (row * cols + col)
+     * @param mark X or O
+     */
+    public static long key(int cell, Mark mark) {
+        return KEYS[(cell << 1) | mark.ordinal()];
+    }
+
+    /**
+     * @return the hash of the position with the given player to move
+     */
+    public static long withSideToMove(long hash, Mark toMove) {
+        return toMove == Mark.O ? hash ^ SIDE_TO_MOVE : hash;
+    }
+
+}
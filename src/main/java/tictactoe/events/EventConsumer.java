@@ -0,0 +1,15 @@
+package tictactoe.events;
+
+/**
+ * Handles the events of a ring on its own {@link EventProcessor} thread
+ */
+@FunctionalInterface
+public interface EventConsumer {
+
+    /**
+     * @param endOfBatch true for the last event available when the batch
+     *                   started, e.g. to flush output once per batch
+     */
+    void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+
+}
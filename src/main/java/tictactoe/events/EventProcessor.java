@@ -0,0 +1,75 @@
+package tictactoe.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs one {@link EventConsumer} over a ring on its own thread
+ * 
+ * Each pass hands the consumer every event published since the previous one
+ * and only then reports its progress to the producer, so a busy consumer
+ * catches up in large batches instead of one event at a time.
+ */
+public final class EventProcessor implements Runnable {
+
+    private final EventRingBuffer ring;
+    private final EventConsumer consumer;
+    private final WaitStrategy waitStrategy;
+    // last sequence handled
+    private final AtomicLong sequence;
+    private volatile boolean running = true;
+
+    /**
+     * Starts gating the ring right away, so the consumer sees every event
+     * published after this call even before its thread starts
+     */
+    public EventProcessor(EventRingBuffer ring, EventConsumer consumer, WaitStrategy waitStrategy) {
+        this.ring = ring;
+        this.consumer = consumer;
+        this.waitStrategy = waitStrategy;
+        this.sequence = new AtomicLong(ring.getCursor());
+        ring.addGatingSequence(sequence);
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        int idleCount = 0;
+        try {
+            while (true) {
+                // read the flag first: events published before halt() are still handled
+                boolean stopping = !running;
+                long available = ring.getCursor();
+                if (available < next) {
+                    if (stopping) {
+                        return;
+                    }
+                    waitStrategy.idle(idleCount++);
+                    continue;
+                }
+                idleCount = 0;
+                for (long s = next; s <= available; s++) {
+                    consumer.onEvent(ring.get(s), s, s == available);
+                }
+                sequence.lazySet(available);
+                next = available + 1;
+            }
+        } finally {
+            ring.removeGatingSequence(sequence);
+        }
+    }
+
+    /**
+     * Stops the processor once it has handled every event published so far
+     */
+    public void halt() {
+        running = false;
+    }
+
+    /**
+     * @return last sequence the consumer handled
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+}
@@ -0,0 +1,100 @@
+package tictactoe.events;
+
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Observer that turns what {@link tictactoe.turns.Turn} and
+ * {@link tictactoe.Game} report into events on a ring, for the consumers to
+ * handle on their own threads
+ * 
+ * Every callback only fills a preallocated event, so the game thread never
+ * allocates, locks or waits on a consumer. It must be the only publisher of
+ * its ring. Events the ring had to drop are reported with an
+ * {@link GameEvent#EVENTS_DROPPED} marker in the first slot that frees up,
+ * so consumers know the events around it do not follow on.
+ */
+public class EventPublisher implements GameObserver {
+
+    private final EventRingBuffer ring;
+    // drops already announced to the consumers
+    private long reportedDrops;
+
+    public EventPublisher(EventRingBuffer ring) {
+        this.ring = ring;
+    }
+
+    private void publish(int type, Player player, Mark mark, Coordinate coordinate, String reason, int moveCount) {
+        long dropped = ring.getDropped();
+        if (dropped != reportedDrops) {
+            long marker = ring.tryNext();
+            if (marker < 0) {
+                // the ring counted this event as dropped too
+                return;
+            }
+            ring.get(marker).setDropped(dropped - reportedDrops);
+            ring.publish(marker);
+            reportedDrops = dropped;
+        }
+        long sequence = ring.tryNext();
+        if (sequence < 0) {
+            return;
+        }
+        ring.get(sequence).set(type, player, mark, coordinate, reason, moveCount);
+        ring.publish(sequence);
+    }
+
+    private void publish(int type, Player player, Coordinate coordinate, String reason, int moveCount) {
+        publish(type, player, player == null ? null : player.getMark(), coordinate, reason, moveCount);
+    }
+
+    @Override
+    public void gameStarted() {
+        publish(GameEvent.GAME_STARTED, null, null, null, 0);
+    }
+
+    /**
+     * Publishes the moves already on the board after the resume event, so the
+     * consumers can rebuild the position
+     */
+    @Override
+    public void gameResumed(Player player, BoardView board) {
+        int moveCount = board.getMoveCount();
+        publish(GameEvent.GAME_RESUMED, player, null, null, moveCount);
+        for (int ply = 0; ply < moveCount; ply++) {
+            int cell = board.getMove(ply);
+            int row = cell / board.getCols();
+            int col = cell % board.getCols();
+            publish(GameEvent.MOVE_RESTORED, null, board.getMark(row, col), Coordinate.of(row, col), null, ply + 1);
+        }
+    }
+
+    @Override
+    public void firstPlayerChosen(Player player) {
+        publish(GameEvent.FIRST_PLAYER_CHOSEN, player, null, null, 0);
+    }
+
+    @Override
+    public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+        publish(GameEvent.MOVE_PLAYED, player, coordinate, null, board.getMoveCount());
+    }
+
+    @Override
+    public void moveRejected(Player player, Coordinate coordinate, String reason) {
+        publish(GameEvent.MOVE_REJECTED, player, coordinate, reason, 0);
+    }
+
+    @Override
+    public void gameWon(Player winner) {
+        publish(GameEvent.GAME_WON, winner, null, null, 0);
+    }
+
+    @Override
+    public void gameTied() {
+        publish(GameEvent.GAME_TIED, null, null, null, 0);
+    }
+
+}
@@ -0,0 +1,120 @@
+package tictactoe.events;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated single-producer ring of {@link GameEvent}s read by any number
+ * of {@link EventProcessor}s
+ * 
+ * The game thread claims the next sequence, fills the event in place and
+ * publishes it with an ordered store to the cursor; consumers read the cursor
+ * and then every event up to it. The producer never waits: if the slowest
+ * consumer is a whole ring behind, the event is dropped and counted instead,
+ * so a stalled renderer cannot stall the game. Size the ring for the longest
+ * pause a consumer may take.
+ */
+public final class EventRingBuffer {
+
+    private final GameEvent[] events;
+    private final int mask;
+    // last published sequence
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private volatile AtomicLong[] gatingSequences = new AtomicLong[0];
+
+    // producer state, only touched by the game thread
+    private long next;
+    private long cachedGatingSequence = -1;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity number of events, rounded up to a power of two
+     */
+    public EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.events = new GameEvent[size];
+        for (int i = 0; i < size; i++) {
+            events[i] = new GameEvent();
+        }
+        this.mask = size - 1;
+    }
+
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * Claims the next slot for the producer
+     * 
+     * @return the sequence to fill with {@link #get(long)} and then
+     *         {@link #publish(long)}, or -1 if the ring is full and the event
+     *         must be dropped
+     */
+    public long tryNext() {
+        long wrapPoint = next - events.length;
+        if (wrapPoint > cachedGatingSequence) {
+            cachedGatingSequence = minimumGatingSequence(next - 1);
+            if (wrapPoint > cachedGatingSequence) {
+                dropped.lazySet(dropped.get() + 1);
+                return -1;
+            }
+        }
+        return next++;
+    }
+
+    public GameEvent get(long sequence) {
+        return events[(int) sequence & mask];
+    }
+
+    /**
+     * Makes the event and every earlier one visible to the consumers
+     */
+    public void publish(long sequence) {
+        cursor.lazySet(sequence);
+    }
+
+    /**
+     * @return last published sequence, -1 before the first event
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * @return events dropped because a consumer fell a whole ring behind
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Keeps the producer from overwriting events the consumer has not
+     * handled yet; called by {@link EventProcessor} before it starts
+     */
+    synchronized void addGatingSequence(AtomicLong sequence) {
+        AtomicLong[] sequences = Arrays.copyOf(gatingSequences, gatingSequences.length + 1);
+        sequences[sequences.length - 1] = sequence;
+        gatingSequences = sequences;
+    }
+
+    synchronized void removeGatingSequence(AtomicLong sequence) {
+        AtomicLong[] sequences = gatingSequences;
+        for (int i = 0; i < sequences.length; i++) {
+            if (sequences[i] == sequence) {
+                AtomicLong[] remaining = new AtomicLong[sequences.length - 1];
+                System.arraycopy(sequences, 0, remaining, 0, i);
+                System.arraycopy(sequences, i + 1, remaining, i, remaining.length - i);
+                gatingSequences = remaining;
+                return;
+            }
+        }
+    }
+
+    private long minimumGatingSequence(long minimum) {
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+}
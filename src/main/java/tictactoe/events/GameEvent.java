@@ -0,0 +1,113 @@
+package tictactoe.events;
+
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+
+/**
+ * One slot of an {@link EventRingBuffer}
+ * 
+ * Events are allocated once with the ring and overwritten by the game thread
+ * on every lap, so a consumer must copy whatever it keeps past its
+ * {@link EventConsumer#onEvent} call.
+ */
+public final class GameEvent {
+
+    public static final int GAME_STARTED = 1;
+    public static final int FIRST_PLAYER_CHOSEN = 2;
+    public static final int MOVE_PLAYED = 3;
+    public static final int MOVE_REJECTED = 4;
+    public static final int GAME_WON = 5;
+    public static final int GAME_TIED = 6;
+    /**
+     * Marks a gap: the ring was full and {@link #getDropped()} events before
+     * this one were lost
+     */
+    public static final int EVENTS_DROPPED = 7;
+    /**
+     * A restored game goes on; {@link #getMoveCount()} {@link #MOVE_RESTORED}
+     * events with the moves already on the board follow
+     */
+    public static final int GAME_RESUMED = 8;
+    public static final int MOVE_RESTORED = 9;
+
+    private int type;
+    private Player player;
+    private Mark mark;
+    private Coordinate coordinate;
+    private String reason;
+    private int moveCount;
+    private long dropped;
+
+    GameEvent() {
+    }
+
+    void set(int type, Player player, Mark mark, Coordinate coordinate, String reason, int moveCount) {
+        this.type = type;
+        this.player = player;
+        this.mark = mark;
+        this.coordinate = coordinate;
+        this.reason = reason;
+        this.moveCount = moveCount;
+        this.dropped = 0;
+    }
+
+    void setDropped(long dropped) {
+        set(EVENTS_DROPPED, null, null, null, null, 0);
+        this.dropped = dropped;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * @return the player the event is about; the winner for
+     *         {@link #GAME_WON}; the player who has the turn for
+     *         {@link #GAME_RESUMED}; null for {@link #GAME_STARTED},
+     *         {@link #GAME_TIED}, {@link #MOVE_RESTORED} and
+     *         {@link #EVENTS_DROPPED}
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return the mark of the player, or of a restored move
+     */
+    public Mark getMark() {
+        return mark;
+    }
+
+    /**
+     * @return the square of a played, rejected or restored move, otherwise
+     *         null
+     */
+    public Coordinate getCoordinate() {
+        return coordinate;
+    }
+
+    /**
+     * @return why a move was rejected, otherwise null
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return marks on the board after a played or restored move, or when a
+     *         game is resumed, otherwise 0
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return events lost right before an {@link #EVENTS_DROPPED} marker,
+     *         otherwise 0
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+}
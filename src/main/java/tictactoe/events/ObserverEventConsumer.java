@@ -0,0 +1,113 @@
+package tictactoe.events;
+
+import tictactoe.board.GameBoard;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Replays events to an existing {@link GameObserver}, e.g. the console
+ * renderer or a {@link tictactoe.record.GameRecorder}, on the consumer
+ * thread
+ * 
+ * The game board keeps changing while the consumer lags behind, so the
+ * observer is shown a replica board that this consumer builds from the
+ * played moves. A resumed game rebuilds the replica from its restored moves.
+ * When the ring reports dropped events the replica can no longer be trusted,
+ * so the rest of that game is discarded: the observer hears nothing more of
+ * it, not even the result, until the next game starts or resumes.
+ */
+public class ObserverEventConsumer implements EventConsumer {
+
+    private final GameObserver observer;
+    private final GameBoard replica;
+    // events of the current game were lost
+    private boolean discarding;
+    private long discardedGames;
+    // player who has the turn in a resumed game whose moves are still arriving
+    private Player resumedPlayer;
+    private int restoredMoves;
+
+    /**
+     * @param replica an empty board of the same kind and size as the game's,
+     *                owned by this consumer
+     */
+    public ObserverEventConsumer(GameObserver observer, GameBoard replica) {
+        this.observer = observer;
+        this.replica = replica;
+    }
+
+    @Override
+    public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+        case GameEvent.GAME_STARTED:
+            replica.reset();
+            discarding = false;
+            resumedPlayer = null;
+            observer.gameStarted();
+            return;
+        case GameEvent.GAME_RESUMED:
+            replica.reset();
+            discarding = false;
+            resumedPlayer = event.getPlayer();
+            restoredMoves = event.getMoveCount();
+            resumeWhenRestored();
+            return;
+        case GameEvent.EVENTS_DROPPED:
+            if (!discarding) {
+                discarding = true;
+                discardedGames++;
+            }
+            resumedPlayer = null;
+            return;
+        default:
+            break;
+        }
+        if (discarding) {
+            return;
+        }
+        switch (event.getType()) {
+        case GameEvent.MOVE_RESTORED:
+            replica.placeMark(event.getCoordinate().toCell(replica.getCols()), event.getMark());
+            resumeWhenRestored();
+            break;
+        case GameEvent.FIRST_PLAYER_CHOSEN:
+            observer.firstPlayerChosen(event.getPlayer());
+            break;
+        case GameEvent.MOVE_PLAYED:
+            replica.placeMark(event.getCoordinate().toCell(replica.getCols()), event.getMark());
+            observer.movePlayed(event.getPlayer(), event.getCoordinate(), replica.view());
+            break;
+        case GameEvent.MOVE_REJECTED:
+            observer.moveRejected(event.getPlayer(), event.getCoordinate(), event.getReason());
+            break;
+        case GameEvent.GAME_WON:
+            observer.gameWon(event.getPlayer());
+            break;
+        case GameEvent.GAME_TIED:
+            observer.gameTied();
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void resumeWhenRestored() {
+        if (resumedPlayer != null && replica.getMoveCount() == restoredMoves) {
+            observer.gameResumed(resumedPlayer, replica.view());
+            resumedPlayer = null;
+        }
+    }
+
+    public GameBoard getReplica() {
+        return replica;
+    }
+
+    /**
+     * @return games whose remaining events were not replayed because the ring
+     *         dropped some of them
+     */
+    public long getDiscardedGames() {
+        return discardedGames;
+    }
+
+}
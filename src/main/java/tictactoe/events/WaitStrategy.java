@@ -0,0 +1,53 @@
+package tictactoe.events;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What an {@link EventProcessor} does while no event is available: trades
+ * latency for the CPU an idle consumer burns
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Called after each poll that found nothing new
+     * 
+     * @param idleCount polls without events so far, 0 the first time
+     */
+    void idle(int idleCount);
+
+    /**
+     * Spins on the cursor: lowest latency, one busy core per consumer
+     */
+    static WaitStrategy busySpin() {
+        return idleCount -> {
+        };
+    }
+
+    /**
+     * Spins a little, then yields the core to other threads
+     */
+    static WaitStrategy yielding() {
+        return idleCount -> {
+            if (idleCount > 100) {
+                Thread.yield();
+            }
+        };
+    }
+
+    /**
+     * Spins, yields, then parks for the given time between polls; the best
+     * choice for consumers like renderers and recorders that are not latency
+     * critical
+     */
+    static WaitStrategy sleeping(long parkNanos) {
+        return idleCount -> {
+            if (idleCount > 200) {
+                LockSupport.parkNanos(parkNanos);
+            } else if (idleCount > 100) {
+                Thread.yield();
+            }
+        };
+    }
+
+}
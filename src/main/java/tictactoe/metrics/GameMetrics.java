@@ -0,0 +1,245 @@
+package tictactoe.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import tictactoe.board.BoardView;
+
+/**
+ * Counters and move latencies of every game played in this JVM
+ * 
+ * Think time is what a player's move source takes to choose a square; engine
+ * time is what the game takes to validate and apply it; the observers that
+ * render or record the move run after the clock stops and are not included.
+ * Recording is off by default: {@link tictactoe.turns.Turn} then
+ * only reads one volatile flag per move and never calls the clock. Start the
+ * JVM with {@code -Dtictactoe.metrics=true} or call
+ * {@link #setEnabled(boolean)} to turn it on.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    public static final String OBJECT_NAME = "tictactoe:type=GameMetrics";
+
+    // Singleton instance
+    private static final GameMetrics instance = new GameMetrics(Boolean.getBoolean("tictactoe.metrics"));
+
+    private volatile boolean enabled;
+
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder gamesTied = new LongAdder();
+    private final LongAdder gamesAborted = new LongAdder();
+    private final LongAdder movesPlayed = new LongAdder();
+    private final LongAdder squareTakenRejections = new LongAdder();
+    private final LongAdder invalidSquareRejections = new LongAdder();
+    private final LatencyHistogram thinkTime = new LatencyHistogram();
+    private final LatencyHistogram engineTime = new LatencyHistogram();
+
+    GameMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static GameMetrics getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void gameStarted() {
+        gamesStarted.increment();
+    }
+
+    public void gameFinished(boolean tied) {
+        gamesFinished.increment();
+        if (tied) {
+            gamesTied.increment();
+        }
+    }
+
+    /**
+     * Ends a game that stopped without a result, e.g. because a player threw
+     * or had no move; it counts as finished so it leaves the in-flight gauge
+     */
+    public void gameAborted() {
+        gamesFinished.increment();
+        gamesAborted.increment();
+    }
+
+    public void movePlayed(long thinkNanos, long engineNanos) {
+        movesPlayed.increment();
+        thinkTime.record(thinkNanos);
+        engineTime.record(engineNanos);
+    }
+
+    /**
+     * @param check why the board rejected the move, see
+     *              {@link BoardView#checkMove(int)}
+     */
+    public void moveRejected(int check, long thinkNanos) {
+        if (check == BoardView.SQUARE_TAKEN) {
+            squareTakenRejections.increment();
+        } else {
+            invalidSquareRejections.increment();
+        }
+        thinkTime.record(thinkNanos);
+    }
+
+    public LatencyHistogram getThinkTime() {
+        return thinkTime;
+    }
+
+    public LatencyHistogram getEngineTime() {
+        return engineTime;
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    @Override
+    public long getGamesTied() {
+        return gamesTied.sum();
+    }
+
+    @Override
+    public long getGamesAborted() {
+        return gamesAborted.sum();
+    }
+
+    @Override
+    public long getGamesInFlight() {
+        // the two sums are not read atomically
+        return Math.max(0, gamesStarted.sum() - gamesFinished.sum());
+    }
+
+    @Override
+    public long getMovesPlayed() {
+        return movesPlayed.sum();
+    }
+
+    @Override
+    public long getMovesRejected() {
+        return squareTakenRejections.sum() + invalidSquareRejections.sum();
+    }
+
+    @Override
+    public long getSquareTakenRejections() {
+        return squareTakenRejections.sum();
+    }
+
+    @Override
+    public long getInvalidSquareRejections() {
+        return invalidSquareRejections.sum();
+    }
+
+    @Override
+    public double getRejectedMoveRate() {
+        long rejected = getMovesRejected();
+        long submitted = rejected + movesPlayed.sum();
+        return submitted == 0 ? 0 : (double) rejected / submitted;
+    }
+
+    @Override
+    public double getThinkTimeMeanMicros() {
+        return thinkTime.getMeanNanos() / 1e3;
+    }
+
+    @Override
+    public double getThinkTimeP99Micros() {
+        return thinkTime.getPercentileNanos(0.99) / 1e3;
+    }
+
+    @Override
+    public double getThinkTimeMaxMicros() {
+        return thinkTime.getMaxNanos() / 1e3;
+    }
+
+    @Override
+    public double getEngineTimeMeanMicros() {
+        return engineTime.getMeanNanos() / 1e3;
+    }
+
+    @Override
+    public double getEngineTimeP99Micros() {
+        return engineTime.getPercentileNanos(0.99) / 1e3;
+    }
+
+    @Override
+    public double getEngineTimeMaxMicros() {
+        return engineTime.getMaxNanos() / 1e3;
+    }
+
+    @Override
+    public String getSnapshot() {
+        return String.format("games: started=%d finished=%d tied=%d aborted=%d in-flight=%d%n"
+                + "moves: played=%d rejected=%d (taken=%d invalid=%d) rejected-rate=%.2f%%%n"
+                + "think time: %s%nengine time: %s%n", getGamesStarted(), getGamesFinished(), getGamesTied(),
+                getGamesAborted(), getGamesInFlight(), getMovesPlayed(), getMovesRejected(),
+                getSquareTakenRejections(), getInvalidSquareRejections(), 100 * getRejectedMoveRate(),
+                thinkTime.summary(), engineTime.summary());
+    }
+
+    @Override
+    public void reset() {
+        gamesStarted.reset();
+        gamesFinished.reset();
+        gamesTied.reset();
+        gamesAborted.reset();
+        movesPlayed.reset();
+        squareTakenRejections.reset();
+        invalidSquareRejections.reset();
+        thinkTime.reset();
+        engineTime.reset();
+    }
+
+    /**
+     * Publishes the metrics on the platform MBean server, once
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Prints {@link #getSnapshot()} every period from a daemon thread
+     * 
+     * @return shut it down to stop reporting
+     */
+    public ScheduledExecutorService startReporting(PrintStream out, long period, TimeUnit unit) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.print(getSnapshot()), period, period, unit);
+        return scheduler;
+    }
+
+}
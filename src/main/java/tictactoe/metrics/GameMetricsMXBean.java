@@ -0,0 +1,58 @@
+package tictactoe.metrics;
+
+/**
+ * Management interface of {@link GameMetrics}, published under
+ * {@link GameMetrics#OBJECT_NAME}
+ */
+public interface GameMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getGamesStarted();
+
+    long getGamesFinished();
+
+    long getGamesTied();
+
+    /**
+     * @return finished games that ended without a result
+     */
+    long getGamesAborted();
+
+    long getGamesInFlight();
+
+    long getMovesPlayed();
+
+    long getMovesRejected();
+
+    long getSquareTakenRejections();
+
+    long getInvalidSquareRejections();
+
+    /**
+     * @return rejected moves over all the moves submitted, between 0 and 1
+     */
+    double getRejectedMoveRate();
+
+    double getThinkTimeMeanMicros();
+
+    double getThinkTimeP99Micros();
+
+    double getThinkTimeMaxMicros();
+
+    double getEngineTimeMeanMicros();
+
+    double getEngineTimeP99Micros();
+
+    double getEngineTimeMaxMicros();
+
+    /**
+     * @return the same text as the periodic snapshot
+     */
+    String getSnapshot();
+
+    void reset();
+
+}
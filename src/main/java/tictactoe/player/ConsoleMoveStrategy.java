@@ -0,0 +1,34 @@
+package tictactoe.player;
+
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+
+/**
+ * Asks a human for the row and column on the console
+ */
+public class ConsoleMoveStrategy implements MoveStrategy {
+
+    private final String name;
+    tictactoe.utilities.ConsoleUtils console = tictactoe.utilities.ConsoleUtils.getInstance();
+
+    /**
+     * @param name player name shown in the prompt
+     */
+    public ConsoleMoveStrategy(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        return readMove(mark, board.getRows(), board.getCols());
+    }
+
+    int readMove(Mark mark, int rows, int cols) {
+        console.printText("\nPlayer " + this.name + " (" + mark + ") turn");
+        // player try to accomplished his goals (win)
+        int row = console.readIntInRange("Enter row: ", 0, rows - 1);
+        int col = console.readIntInRange("Enter column: ", 0, cols - 1);
+        return row * cols + col;
+    }
+
+}
@@ -0,0 +1,27 @@
+package tictactoe.player;
+
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+
+/**
+ * Decides where a player places its next mark
+ */
+public interface MoveStrategy {
+
+    /**
+     * Returned instead of a square when the strategy has no move to offer,
+     * e.g. a script line that ends before its game; the game stops unfinished
+     */
+    int NO_MOVE = Integer.MIN_VALUE;
+
+    /**
+     * Chooses an empty square for the given mark. The board may be used as a
+     * scratch pad but must be left as it was received.
+     * 
+     * @param board the board of an unfinished game
+     * @param mark  the mark about to be placed
+     * @return the square index, row * cols + col
+     */
+    int chooseMove(GameBoard board, Mark mark);
+
+}
@@ -1,16 +1,30 @@
 package tictactoe.player;
 
 import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
 import tictactoe.board.Mark;
 
 public class Player {
     private Mark mark;
     private String name;
-    tictactoe.utilities.ConsoleUtils console = tictactoe.utilities.ConsoleUtils.getInstance();
+    private MoveStrategy strategy;
 
+    /**
+     * Creates a human player that types its name and moves on the console
+     */
     public Player(Mark mark) {
         this.mark = mark;
-        this.name = console.readString("Enter player " + mark + " name: ");
+        this.name = tictactoe.utilities.ConsoleUtils.getInstance().readString("Enter player " + mark + " name: ");
+        this.strategy = new ConsoleMoveStrategy(this.name);
+    }
+
+    /**
+     * Creates a player whose moves come from the given strategy
+     */
+    public Player(Mark mark, String name, MoveStrategy strategy) {
+        this.mark = mark;
+        this.name = name;
+        this.strategy = strategy;
     }
 
     public Mark getMark() {
@@ -21,12 +35,19 @@ public class Player {
         return this.name;
     }
 
-    public Coordinate getMove() {
-        console.printText("\nPlayer " + this.name + " (" + this.mark + ") turn");
-        // player try to accomplished his goals (win)
-        int row = console.readIntInRange("Enter row: ", 0, 2);
-        int col = console.readIntInRange("Enter column: ", 0, 2);
-        return new Coordinate(row, col);
+    public MoveStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * @return the chosen square index, row * cols + col
+     */
+    public int getMoveCell(GameBoard board) {
+        return strategy.chooseMove(board, mark);
+    }
+
+    public Coordinate getMove(GameBoard board) {
+        return Coordinate.ofCell(getMoveCell(board), board.getCols());
     }
 
 }
@@ -0,0 +1,16 @@
+package tictactoe.player;
+
+/**
+ * Creates a move strategy from a seed, e.g. for one tournament match or one
+ * batch of self-play games
+ */
+@FunctionalInterface
+public interface StrategyFactory {
+
+    /**
+     * @param seed derived from the caller's seed and the games to play, for
+     *             strategies that use randomness
+     */
+    MoveStrategy create(long seed);
+
+}
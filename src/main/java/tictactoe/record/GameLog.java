@@ -0,0 +1,73 @@
+package tictactoe.record;
+
+import tictactoe.board.Mark;
+
+/**
+ * Binary layout of game log files
+ * 
+ * A log is a sequence of {@value #BLOCK_SIZE}-byte blocks; the first one
+ * starts with an {@value #HEADER_SIZE}-byte header ("TTTL", version, padding).
+ * Records never straddle blocks: a zero byte means the rest of the block is
+ * padding, so any block can be decoded on its own.
+ * 
+ * Each 3x3 game takes 1 to 6 bytes. The first byte is
+ * {@code 1 F OO MMMM}: a marker bit, the first player (0 = X, 1 = O), the
+ * outcome and the number of moves. The squares played (row * 3 + col) follow
+ * as 4-bit values, two per byte, low nibble first.
+ */
+public final class GameLog {
+
+    public static final int BLOCK_SIZE = 64 * 1024;
+    public static final int HEADER_SIZE = 8;
+    public static final int VERSION = 1;
+    static final byte[] MAGIC = { 'T', 'T', 'T', 'L' };
+
+    public static final int MAX_MOVES = 9;
+    public static final int MAX_RECORD_SIZE = recordSize(MAX_MOVES);
+
+    public static final int UNFINISHED = 0;
+    public static final int X_WINS = 1;
+    public static final int O_WINS = 2;
+    public static final int TIE = 3;
+
+    private static final int MARKER = 0x80;
+    private static final int FIRST_PLAYER_O = 0x40;
+
+    private GameLog() {
+    }
+
+    public static int recordSize(int moves) {
+        return 1 + (moves + 1) / 2;
+    }
+
+    public static int outcome(Mark winner, boolean gameOver) {
+        if (winner == Mark.X) {
+            return X_WINS;
+        }
+        if (winner == Mark.O) {
+            return O_WINS;
+        }
+        return gameOver ? TIE : UNFINISHED;
+    }
+
+    static byte header(Mark firstPlayer, int outcome, int moves) {
+        return (byte) (MARKER | (firstPlayer == Mark.O ? FIRST_PLAYER_O : 0) | outcome << 4 | moves);
+    }
+
+    static boolean isRecord(int header) {
+        return (header & MARKER) != 0;
+    }
+
+    static Mark firstPlayer(int header) {
+        return (header & FIRST_PLAYER_O) != 0 ? Mark.O : Mark.X;
+    }
+
+    static int outcome(int header) {
+        return (header >>> 4) & 0x3;
+    }
+
+    static int moves(int header) {
+        return header & 0xF;
+    }
+
+}
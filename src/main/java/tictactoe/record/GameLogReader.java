@@ -0,0 +1,142 @@
+package tictactoe.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import tictactoe.board.Mark;
+
+/**
+ * Decodes a game log through memory-mapped segments of whole blocks
+ * 
+ * Any range of blocks can be read independently, which lets callers process a
+ * large log in parallel chunks. A reader may be shared between threads as
+ * long as each thread passes its own visitor.
+ */
+public class GameLogReader implements Closeable {
+
+    /**
+     * Blocks mapped at once: 1 GiB segments
+     */
+    static final int BLOCKS_PER_SEGMENT = (1 << 30) / GameLog.BLOCK_SIZE;
+
+    private final FileChannel channel;
+    private final long size;
+
+    public GameLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        checkHeader(channel);
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(GameLog.HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Not a game log: too short");
+            }
+        }
+        byte[] magic = Arrays.copyOf(header.array(), GameLog.MAGIC.length);
+        if (!Arrays.equals(magic, GameLog.MAGIC)) {
+            throw new IOException("Not a game log");
+        }
+        if (header.get(GameLog.MAGIC.length) != GameLog.VERSION) {
+            throw new IOException("Unsupported game log version " + header.get(GameLog.MAGIC.length));
+        }
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getBlockCount() {
+        return (size + GameLog.BLOCK_SIZE - 1) / GameLog.BLOCK_SIZE;
+    }
+
+    /**
+     * @return number of games visited
+     */
+    public long forEach(GameRecordVisitor visitor) throws IOException {
+        return forEach(0, getBlockCount(), visitor);
+    }
+
+    /**
+     * Visits the games stored in blocks {@code [fromBlock, toBlock)}
+     * 
+     * @return number of games visited
+     */
+    public long forEach(long fromBlock, long toBlock, GameRecordVisitor visitor) throws IOException {
+        int[] moves = new int[GameLog.MAX_MOVES];
+        long games = 0;
+        for (long segment = fromBlock; segment < toBlock; segment += BLOCKS_PER_SEGMENT) {
+            long start = segment * GameLog.BLOCK_SIZE;
+            long end = Math.min(size, Math.min(toBlock, segment + BLOCKS_PER_SEGMENT) * GameLog.BLOCK_SIZE);
+            if (start >= end) {
+                break;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            games += decode(buffer, start, start == 0 ? GameLog.HEADER_SIZE : 0, moves, visitor);
+        }
+        return games;
+    }
+
+    /**
+     * @param base file offset of the buffer, for error messages
+     * @throws IOException if a record is corrupt or truncated
+     */
+    private static long decode(ByteBuffer buffer, long base, int offset, int[] moves, GameRecordVisitor visitor)
+            throws IOException {
+        long games = 0;
+        int limit = buffer.limit();
+        int position = offset;
+        while (position < limit) {
+            int header = buffer.get(position);
+            if (!GameLog.isRecord(header)) {
+                // padding up to the next block
+                position = (position / GameLog.BLOCK_SIZE + 1) * GameLog.BLOCK_SIZE;
+                continue;
+            }
+            int moveCount = GameLog.moves(header);
+            if (moveCount > GameLog.MAX_MOVES) {
+                throw new IOException("Corrupt game log: " + moveCount + " moves in the record at offset "
+                        + (base + position));
+            }
+            if (position + GameLog.recordSize(moveCount) > limit) {
+                throw new IOException("Truncated game log: record at offset " + (base + position));
+            }
+            int record = position;
+            position++;
+            for (int i = 0; i < moveCount; i += 2) {
+                int packed = buffer.get(position++);
+                moves[i] = packed & 0xF;
+                if (i + 1 < moveCount) {
+                    moves[i + 1] = (packed >>> 4) & 0xF;
+                }
+                if (moves[i] >= GameLog.MAX_MOVES || (i + 1 < moveCount && moves[i + 1] >= GameLog.MAX_MOVES)) {
+                    throw new IOException("Corrupt game log: invalid square in the record at offset "
+                            + (base + record));
+                }
+            }
+            visitor.visit(GameLog.firstPlayer(header), GameLog.outcome(header), moves, moveCount);
+            games++;
+        }
+        return games;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Mark of the player who made the move at the given index
+     */
+    public static Mark moverAt(Mark firstPlayer, int moveIndex) {
+        return (moveIndex & 1) == 0 ? firstPlayer : firstPlayer.opponent();
+    }
+
+}
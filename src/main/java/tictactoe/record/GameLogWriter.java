@@ -0,0 +1,99 @@
+package tictactoe.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import tictactoe.board.Mark;
+
+/**
+ * Appends finished games to a log file
+ * 
+ * Records are gathered in a block-sized buffer that is written to the
+ * {@link FileChannel} when the block fills up or on {@link #flush()}, so
+ * millions of games cost a few large writes. Appending is synchronized, so
+ * several games may share one writer.
+ */
+public class GameLogWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer block = ByteBuffer.allocateDirect(GameLog.BLOCK_SIZE);
+    // file offset of the first byte in the buffer
+    private long bufferStart;
+
+    public GameLogWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ);
+        long size = channel.size();
+        this.bufferStart = size - size % GameLog.BLOCK_SIZE;
+        if (size == 0) {
+            block.put(GameLog.MAGIC).put((byte) GameLog.VERSION).put(new byte[3]);
+        } else {
+            GameLogReader.checkHeader(channel);
+            // reload the partly written last block so appends continue inside it
+            block.limit((int) (size - bufferStart));
+            while (block.hasRemaining()) {
+                if (channel.read(block, bufferStart + block.position()) < 0) {
+                    throw new IOException("Truncated game log");
+                }
+            }
+            block.limit(block.capacity());
+        }
+    }
+
+    /**
+     * @param moves     squares played in order, row * 3 + col
+     * @param moveCount number of moves to take from {@code moves}
+     * @param outcome   one of the {@link GameLog} outcomes
+     */
+    public synchronized void append(Mark firstPlayer, int[] moves, int moveCount, int outcome) throws IOException {
+        if (moveCount > GameLog.MAX_MOVES) {
+            throw new IllegalArgumentException("Too many moves: " + moveCount);
+        }
+        if (block.remaining() < GameLog.recordSize(moveCount)) {
+            // pad the block with zeros and start a new one
+            while (block.hasRemaining()) {
+                block.put((byte) 0);
+            }
+            writeBlock();
+        }
+        block.put(GameLog.header(firstPlayer, outcome, moveCount));
+        for (int i = 0; i < moveCount; i += 2) {
+            int low = moves[i] & 0xF;
+            int high = i + 1 < moveCount ? moves[i + 1] & 0xF : 0;
+            block.put((byte) (high << 4 | low));
+        }
+        if (!block.hasRemaining()) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the buffered games; the current block stays open for more
+     */
+    public synchronized void flush() throws IOException {
+        ByteBuffer pending = block.duplicate();
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending, bufferStart + pending.position());
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block, bufferStart + block.position());
+        }
+        block.clear();
+        bufferStart += GameLog.BLOCK_SIZE;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+}
@@ -0,0 +1,18 @@
+package tictactoe.record;
+
+import tictactoe.board.Mark;
+
+/**
+ * Receives the games of a log one at a time
+ */
+public interface GameRecordVisitor {
+
+    /**
+     * @param moves     squares played, reused between calls: copy what must be
+     *                  kept
+     * @param moveCount number of valid entries in {@code moves}
+     * @param outcome   one of the {@link GameLog} outcomes
+     */
+    void visit(Mark firstPlayer, int outcome, int[] moves, int moveCount);
+
+}
@@ -0,0 +1,106 @@
+package tictactoe.record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Observer that appends every finished 3x3 game to a game log
+ * 
+ * Games on other boards cannot be stored in the log format; they are skipped
+ * and counted instead of interrupting the game.
+ */
+public class GameRecorder implements GameObserver {
+
+    private final GameLogWriter writer;
+    private final int[] moves = new int[GameLog.MAX_MOVES];
+    private int moveCount;
+    private Mark firstPlayer = Mark.X;
+    // the current game does not fit the log
+    private boolean skipping;
+    private long skippedGames;
+
+    public GameRecorder(GameLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void firstPlayerChosen(Player player) {
+        firstPlayer = player.getMark();
+        moveCount = 0;
+        skipping = false;
+    }
+
+    /**
+     * Starts the record of a restored game with the moves it already has
+     */
+    @Override
+    public void gameResumed(Player player, BoardView board) {
+        int count = board.getMoveCount();
+        skipping = !isStandard(board) || count > moves.length;
+        moveCount = 0;
+        if (skipping) {
+            return;
+        }
+        for (int ply = 0; ply < count; ply++) {
+            moves[moveCount++] = board.getMove(ply);
+        }
+        firstPlayer = count == 0 ? player.getMark() : board.getMark(moves[0] / 3, moves[0] % 3);
+    }
+
+    @Override
+    public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+        if (!isStandard(board) || moveCount == moves.length) {
+            skipping = true;
+        }
+        if (!skipping) {
+            moves[moveCount++] = coordinate.getRow() * 3 + coordinate.getCol();
+        }
+    }
+
+    @Override
+    public void gameWon(Player winner) {
+        write(winner.getMark() == Mark.X ? GameLog.X_WINS : GameLog.O_WINS);
+    }
+
+    @Override
+    public void gameTied() {
+        write(GameLog.TIE);
+    }
+
+    /**
+     * @return games not written because they were not three in a row on a 3x3
+     *         board
+     */
+    public long getSkippedGames() {
+        return skippedGames;
+    }
+
+    /**
+     * Only games of three in a row on 3x3 replay the same on {@link Board}
+     */
+    private static boolean isStandard(BoardView board) {
+        return board.getRows() == 3 && board.getCols() == 3 && board.getWinLength() == 3;
+    }
+
+    private void write(int outcome) {
+        if (skipping) {
+            skippedGames++;
+            skipping = false;
+            moveCount = 0;
+            return;
+        }
+        try {
+            writer.append(firstPlayer, moves, moveCount, outcome);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        moveCount = 0;
+    }
+
+}
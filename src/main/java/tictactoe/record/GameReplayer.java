@@ -0,0 +1,70 @@
+package tictactoe.record;
+
+import java.io.IOException;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.Mark;
+
+/**
+ * Rebuilds logged games move by move through {@link Board#checkMove} and
+ * {@link Board#placeMark}, so every replayed game is checked against the
+ * rules again
+ * 
+ * One board is reused for all games. A game whose
+ * moves are rejected by the board, or whose logged outcome differs from the
+ * replayed one, is counted as inconsistent and not passed to the visitor.
+ */
+public class GameReplayer {
+
+    /**
+     * Receives each game once all its moves are on the board
+     */
+    public interface ReplayVisitor {
+        /**
+         * @param board reused for the next game: copy what must be kept
+         */
+        void replayed(Board board, Mark firstPlayer, int outcome);
+    }
+
+    private final Board board = new Board();
+    private long inconsistentGames;
+
+    /**
+     * @return number of games replayed successfully
+     */
+    public long replay(GameLogReader reader, ReplayVisitor visitor) throws IOException {
+        return replay(reader, 0, reader.getBlockCount(), visitor);
+    }
+
+    public long replay(GameLogReader reader, long fromBlock, long toBlock, ReplayVisitor visitor)
+            throws IOException {
+        long[] replayed = new long[1];
+        reader.forEach(fromBlock, toBlock, (firstPlayer, outcome, moves, moveCount) -> {
+            if (rebuild(firstPlayer, outcome, moves, moveCount)) {
+                replayed[0]++;
+                visitor.replayed(board, firstPlayer, outcome);
+            } else {
+                inconsistentGames++;
+            }
+        });
+        return replayed[0];
+    }
+
+    private boolean rebuild(Mark firstPlayer, int outcome, int[] moves, int moveCount) {
+        board.reset();
+        Mark mark = firstPlayer;
+        for (int i = 0; i < moveCount; i++) {
+            if (board.isGameOver() || board.checkMove(moves[i]) != BoardView.VALID_MOVE) {
+                return false;
+            }
+            board.placeMark(moves[i], mark);
+            mark = mark.opponent();
+        }
+        return GameLog.outcome(board.getWinner(), board.isGameOver()) == outcome;
+    }
+
+    public long getInconsistentGames() {
+        return inconsistentGames;
+    }
+
+}
@@ -0,0 +1,192 @@
+package tictactoe.script;
+
+import java.io.IOException;
+import java.io.InputStream;
+import tictactoe.board.Mark;
+
+/**
+ * Reads move scripts byte by byte from a buffered stream
+ * 
+ * A script holds one game per line: an optional first player ({@code X} or
+ * {@code O}) followed by the moves as "row col" pairs, 0-based as typed on the
+ * console. Commas and whitespace separate numbers, {@code #} starts a comment
+ * and blank lines are ignored:
+ * 
+ * <pre>
+ * # X opens in the center and wins on the diagonal
+ * X 1 1, 0 1, 0 0, 2 1, 2 2
+ * </pre>
+ * 
+ * Malformed numbers are reported with return codes rather than exceptions so
+ * long scripts with bad input cost no more than good ones.
+ */
+public class MoveScriptReader {
+
+    /**
+     * {@link #nextMove(int)} result when the current line has no more moves
+     */
+    public static final int END_OF_GAME = -1;
+
+    /**
+     * {@link #nextMove(int)} result for a move that is not two numbers
+     */
+    public static final int MALFORMED = -2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfLine = true;
+    private Mark firstPlayer;
+    private long line;
+
+    public MoveScriptReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * -1 at the end of the stream
+     */
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    private static boolean isSeparator(int b) {
+        return b == ' ' || b == ',' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Skips separators and a trailing comment without leaving the line
+     * 
+     * @return the next significant byte, '\n' or -1
+     */
+    private int skipSeparators() throws IOException {
+        int b = peek();
+        while (isSeparator(b)) {
+            position++;
+            b = peek();
+        }
+        if (b == '#') {
+            while (b != '\n' && b != -1) {
+                position++;
+                b = peek();
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Moves to the next line with a game, skipping what is left of the
+     * current one
+     * 
+     * @return false at the end of the script
+     */
+    public boolean nextGame() throws IOException {
+        if (!endOfLine) {
+            skipLine();
+        }
+        while (true) {
+            int b = skipSeparators();
+            if (b == -1) {
+                return false;
+            }
+            line++;
+            if (b == '\n') {
+                position++;
+                continue;
+            }
+            firstPlayer = null;
+            if (b == 'X' || b == 'x' || b == 'O' || b == 'o') {
+                firstPlayer = b == 'X' || b == 'x' ? Mark.X : Mark.O;
+                position++;
+            }
+            endOfLine = false;
+            return true;
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int b = peek();
+        while (b != '\n' && b != -1) {
+            position++;
+            b = peek();
+        }
+        if (b == '\n') {
+            position++;
+        }
+        endOfLine = true;
+    }
+
+    /**
+     * @return the mark named at the start of the line, or null
+     */
+    public Mark getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    /**
+     * @return 1-based number of the line of the current game
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Reads the next "row col" pair of the current game
+     * 
+     * @param cols columns of the board the moves are for
+     * @return the square index, {@link #END_OF_GAME} or {@link #MALFORMED}
+     */
+    public int nextMove(int cols) throws IOException {
+        if (endOfLine) {
+            return END_OF_GAME;
+        }
+        int row = nextNumber();
+        if (row == END_OF_GAME) {
+            skipLine();
+            return END_OF_GAME;
+        }
+        int col = nextNumber();
+        if (row == MALFORMED || col == MALFORMED || col == END_OF_GAME || col >= cols
+                || (long) row * cols + col > Integer.MAX_VALUE) {
+            return MALFORMED;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * @return a non-negative number, {@link #MALFORMED} or
+     *         {@link #END_OF_GAME}
+     */
+    private int nextNumber() throws IOException {
+        int b = skipSeparators();
+        if (b == '\n' || b == -1) {
+            return END_OF_GAME;
+        }
+        long value = 0;
+        boolean digits = true;
+        int length = 0;
+        while (b != -1 && b != '\n' && b != '#' && !isSeparator(b)) {
+            if (b >= '0' && b <= '9' && value <= Integer.MAX_VALUE) {
+                value = value * 10 + (b - '0');
+            } else {
+                digits = false;
+            }
+            length++;
+            position++;
+            b = peek();
+        }
+        return digits && length > 0 && value <= Integer.MAX_VALUE ? (int) value : MALFORMED;
+    }
+
+}
@@ -0,0 +1,68 @@
+package tictactoe.script;
+
+import tictactoe.board.Mark;
+
+/**
+ * Totals of a scripted batch
+ */
+public class ScriptResult {
+
+    long games;
+    long xWins;
+    long oWins;
+    long ties;
+    long incompleteGames;
+    long movesPlayed;
+    long rejectedMoves;
+    long malformedMoves;
+    long elapsedNanos;
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins(Mark mark) {
+        return mark == Mark.X ? xWins : mark == Mark.O ? oWins : 0;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * @return games whose line ended before the game did
+     */
+    public long getIncompleteGames() {
+        return incompleteGames;
+    }
+
+    public long getMovesPlayed() {
+        return movesPlayed;
+    }
+
+    /**
+     * @return moves the board refused, malformed ones included
+     */
+    public long getRejectedMoves() {
+        return rejectedMoves;
+    }
+
+    public long getMalformedMoves() {
+        return malformedMoves;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games (X %d, O %d, ties %d, incomplete %d), %d moves, %d rejected (%d malformed)",
+                games, xWins, oWins, ties, incompleteGames, movesPlayed, rejectedMoves, malformedMoves);
+    }
+
+}
@@ -0,0 +1,94 @@
+package tictactoe.script;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+import tictactoe.Game;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Feeds move scripts through the real {@link Game} and {@link tictactoe.turns.Turn}
+ * loop without prompts, for regression replays and load tests
+ */
+public class ScriptRunner {
+
+    private final Supplier<GameBoard> boards;
+    private final GameObserver observer;
+
+    public ScriptRunner(Supplier<GameBoard> boards) {
+        this(boards, GameObserver.NONE);
+    }
+
+    /**
+     * @param observer receives the events of every game, e.g. a recorder
+     */
+    public ScriptRunner(Supplier<GameBoard> boards, GameObserver observer) {
+        this.boards = boards;
+        this.observer = observer;
+    }
+
+    public ScriptResult run(InputStream in) throws IOException {
+        ScriptResult result = new ScriptResult();
+        MoveScriptReader script = new MoveScriptReader(in);
+        ScriptedMoveStrategy moves = new ScriptedMoveStrategy(script);
+        Player x = new Player(Mark.X, "X", moves);
+        Player o = new Player(Mark.O, "O", moves);
+        GameObserver counter = new GameObserver() {
+            @Override
+            public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+                result.movesPlayed++;
+            }
+
+            @Override
+            public void moveRejected(Player player, Coordinate coordinate, String reason) {
+                result.rejectedMoves++;
+            }
+        };
+        GameObserver observers = GameObserver.all(counter, observer);
+        GameBoard board = boards.get();
+
+        long start = System.nanoTime();
+        while (script.nextGame()) {
+            board.reset();
+            Game game = new Game(x, o, board, observers);
+            game.play(script.getFirstPlayer());
+            if (game.getTurn().isAbandoned()) {
+                result.incompleteGames++;
+                continue;
+            }
+            result.games++;
+            if (board.getWinner() == Mark.X) {
+                result.xWins++;
+            } else if (board.getWinner() == Mark.O) {
+                result.oWins++;
+            } else {
+                result.ties++;
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        result.malformedMoves = moves.getMalformedMoves();
+        return result;
+    }
+
+    /**
+     * Replays a script on the 3x3 board and prints the totals
+     * 
+     * @param args script file, or none to read standard input
+     */
+    public static void main(String[] args) throws IOException {
+        try (InputStream script = args.length > 0 ? Files.newInputStream(Paths.get(args[0])) : System.in) {
+            ScriptResult result = new ScriptRunner(Board::new).run(script);
+            System.out.println(result);
+            System.out.printf("%.0f games/s%n", result.getGamesPerSecond());
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package tictactoe.script;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Plays the moves of the current script line, for both players of a game
+ * 
+ * A malformed move is answered with an invalid square, which Turn rejects like
+ * any other bad move before asking again.
+ */
+public class ScriptedMoveStrategy implements MoveStrategy {
+
+    private final MoveScriptReader script;
+    private long malformedMoves;
+
+    public ScriptedMoveStrategy(MoveScriptReader script) {
+        this.script = script;
+    }
+
+    /**
+     * @return {@link MoveStrategy#NO_MOVE} if the line ends before the game
+     *         does, which stops the game unfinished
+     */
+    @Override
+    public int chooseMove(GameBoard board, Mark mark) {
+        int move;
+        try {
+            move = script.nextMove(board.getCols());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (move == MoveScriptReader.END_OF_GAME) {
+            return NO_MOVE;
+        }
+        if (move == MoveScriptReader.MALFORMED) {
+            malformedMoves++;
+            return -1;
+        }
+        return move;
+    }
+
+    public long getMalformedMoves() {
+        return malformedMoves;
+    }
+
+}
@@ -0,0 +1,66 @@
+package tictactoe.server;
+
+import tictactoe.board.Mark;
+
+/**
+ * Binary protocol spoken by {@link GameServer}
+ * 
+ * Client requests are 3 bytes: an opcode and two arguments. Server replies
+ * are 5 bytes: an opcode and four arguments. Marks travel as {@link #MARK_X}
+ * or {@link #MARK_O}.
+ * 
+ * <pre>
+ * NEW_GAME   side   0               side: MARK_X, MARK_O, or 0 to play both marks
+ * MOVE       row    col
+ *
+ * STARTED    first  rows  cols  k
+ * ACCEPTED   row    col   mark  status   a move of this client
+ * OPPONENT   row    col   mark  status   a move of the server player
+ * REJECTED   reason 0     0     0
+ * </pre>
+ */
+public final class GameProtocol {
+
+    public static final int REQUEST_SIZE = 3;
+    public static final int REPLY_SIZE = 5;
+
+    public static final byte NEW_GAME = 0x01;
+    public static final byte MOVE = 0x02;
+
+    public static final byte STARTED = 0x10;
+    public static final byte ACCEPTED = 0x11;
+    public static final byte OPPONENT = 0x12;
+    public static final byte REJECTED = 0x13;
+
+    public static final byte MARK_X = 1;
+    public static final byte MARK_O = 2;
+
+    public static final byte PLAYING = 0;
+    public static final byte X_WINS = 1;
+    public static final byte O_WINS = 2;
+    public static final byte TIE = 3;
+
+    public static final byte INVALID_SQUARE = 1;
+    public static final byte SQUARE_TAKEN = 2;
+    public static final byte GAME_OVER = 3;
+    public static final byte NO_GAME = 4;
+    public static final byte BAD_REQUEST = 5;
+    public static final byte NOT_YOUR_TURN = 6;
+    /**
+     * A free square outside the sub-board the last move sent the player to,
+     * on boards like {@link tictactoe.board.UltimateBoard}
+     */
+    public static final byte WRONG_BOARD = 7;
+
+    private GameProtocol() {
+    }
+
+    public static byte encode(Mark mark) {
+        return mark == Mark.X ? MARK_X : mark == Mark.O ? MARK_O : 0;
+    }
+
+    public static Mark decode(int mark) {
+        return mark == MARK_X ? Mark.X : mark == MARK_O ? Mark.O : Mark.EMPTY;
+    }
+
+}
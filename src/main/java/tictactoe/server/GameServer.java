@@ -0,0 +1,390 @@
+package tictactoe.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import tictactoe.ai.PerfectPlayStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+
+/**
+ * Non-blocking TCP server hosting one game per connection, speaking
+ * {@link GameProtocol}
+ * 
+ * A single selector thread serves every connection. Requests are read into one
+ * shared buffer and the replies of a read are written in one call, so the
+ * per-connection state is just a {@link GameSession} and the cost of a move
+ * does not depend on how many games are open. When a server player is
+ * configured it answers each client move; otherwise the client plays both
+ * marks.
+ * 
+ * The server player searches on a pool of worker threads, on a copy of the
+ * board, so a slow search never holds up the other connections. The chosen
+ * move is handed back to the selector thread, which plays it and sends the
+ * reply; client moves made while the server is thinking are rejected with
+ * {@link GameProtocol#NOT_YOUR_TURN}.
+ */
+public class GameServer implements Closeable {
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Supplier<GameBoard> boards;
+    private final ThreadLocal<MoveStrategy> opponents;
+    private final ExecutorService searchPool;
+    // server moves found by the pool, waiting for the selector thread
+    private final Queue<ServerMove> finishedSearches = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final SplittableRandom random = new SplittableRandom();
+
+    private volatile boolean running;
+    private volatile int sessions;
+    private Thread thread;
+
+    /**
+     * @param address  where to listen, port 0 picks a free port
+     * @param boards   creates the board of each new game
+     * @param opponent server player, or null to let clients play both marks;
+     *                 only ever called from one search thread
+     */
+    public GameServer(InetSocketAddress address, Supplier<GameBoard> boards, MoveStrategy opponent)
+            throws IOException {
+        this(address, boards, opponent == null ? null : () -> opponent, 1);
+    }
+
+    /**
+     * @param opponents     creates the server player of each search thread,
+     *                      or null to let clients play both marks
+     * @param searchThreads threads searching server moves concurrently
+     */
+    public GameServer(InetSocketAddress address, Supplier<GameBoard> boards, Supplier<MoveStrategy> opponents,
+            int searchThreads) throws IOException {
+        this.boards = boards;
+        this.opponents = opponents == null ? null : ThreadLocal.withInitial(opponents);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.searchPool = opponents == null ? null : Executors.newFixedThreadPool(Math.max(1, searchThreads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "game-server-search-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(address, 1024);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "game-server");
+        thread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return number of open connections
+     */
+    public int getSessionCount() {
+        return sessions;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                break;
+            }
+            playFinishedSearches();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        if (key.isWritable()) {
+                            flushPending(key);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            read(key);
+                        }
+                    }
+                } catch (IOException e) {
+                    disconnect(key);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new GameSession());
+            sessions++;
+        }
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // already gone
+        }
+        sessions--;
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        GameSession session = (GameSession) key.attachment();
+        readBuffer.clear();
+        if (channel.read(readBuffer) < 0) {
+            disconnect(key);
+            return;
+        }
+        readBuffer.flip();
+        writeBuffer.clear();
+        boolean serverTurn = false;
+
+        if (session.partialLength > 0) {
+            while (session.partialLength < GameProtocol.REQUEST_SIZE - 1 && readBuffer.hasRemaining()) {
+                session.partial[session.partialLength++] = readBuffer.get();
+            }
+            if (!readBuffer.hasRemaining()) {
+                return;
+            }
+            byte last = readBuffer.get();
+            byte[] partial = session.partial;
+            session.partialLength = 0;
+            serverTurn = handle(session, partial[0], partial[1], last);
+        }
+        while (readBuffer.remaining() >= GameProtocol.REQUEST_SIZE) {
+            serverTurn = handle(session, readBuffer.get(), readBuffer.get(), readBuffer.get());
+        }
+        while (readBuffer.hasRemaining()) {
+            session.partial[session.partialLength++] = readBuffer.get();
+        }
+
+        send(key, session);
+        if (serverTurn && session.needsSearch()) {
+            startSearch(key, session);
+        }
+    }
+
+    /**
+     * Writes the replies collected in the write buffer, queueing what the
+     * socket does not take
+     */
+    private void send(SelectionKey key, GameSession session) throws IOException {
+        writeBuffer.flip();
+        if (session.pendingWrites == null) {
+            ((SocketChannel) key.channel()).write(writeBuffer);
+            if (!writeBuffer.hasRemaining()) {
+                return;
+            }
+        }
+        queue(key, session);
+    }
+
+    /**
+     * @return true if the server player has to move next
+     */
+    private boolean handle(GameSession session, byte opcode, byte first, byte second) {
+        if (opcode == GameProtocol.NEW_GAME) {
+            newGame(session, first);
+        } else if (opcode == GameProtocol.MOVE) {
+            move(session, first, second);
+        } else {
+            reply(GameProtocol.REJECTED, GameProtocol.BAD_REQUEST, 0, 0, 0);
+        }
+        return session.isServerTurn();
+    }
+
+    private void newGame(GameSession session, int side) {
+        GameBoard board = session.board;
+        if (board == null) {
+            board = boards.get();
+        } else {
+            board.reset();
+        }
+        Mark clientMark = GameProtocol.decode(side);
+        Mark serverMark = opponents != null && clientMark != Mark.EMPTY ? clientMark.opponent() : Mark.EMPTY;
+        Mark firstPlayer = random.nextBoolean() ? Mark.X : Mark.O;
+        session.start(board, firstPlayer, serverMark);
+        reply(GameProtocol.STARTED, GameProtocol.encode(firstPlayer), board.getRows(), board.getCols(),
+                board.getWinLength());
+    }
+
+    private void move(GameSession session, int row, int col) {
+        if (session.isServerTurn()) {
+            reply(GameProtocol.REJECTED, GameProtocol.NOT_YOUR_TURN, 0, 0, 0);
+            return;
+        }
+        Mark mark = session.toMove;
+        byte rejected = session.play(row, col);
+        if (rejected != 0) {
+            reply(GameProtocol.REJECTED, rejected, 0, 0, 0);
+            return;
+        }
+        reply(GameProtocol.ACCEPTED, row, col, GameProtocol.encode(mark), session.status());
+    }
+
+    /**
+     * A server move chosen on the search pool for one game of a session
+     */
+    private static final class ServerMove {
+        final SelectionKey key;
+        final GameSession session;
+        final int generation;
+        final int cell;
+
+        ServerMove(SelectionKey key, GameSession session, int generation, int cell) {
+            this.key = key;
+            this.session = session;
+            this.generation = generation;
+            this.cell = cell;
+        }
+    }
+
+    private void startSearch(SelectionKey key, GameSession session) {
+        // the session board keeps changing on this thread, the search gets its own copy
+        GameBoard board = session.board.copy();
+        Mark mark = session.serverMark;
+        int generation = session.generation;
+        session.searching = true;
+        session.searchGeneration = generation;
+        searchPool.execute(() -> {
+            int cell;
+            try {
+                cell = opponents.get().chooseMove(board, mark);
+            } catch (RuntimeException e) {
+                // the selector thread plays a fallback move instead
+                cell = -1;
+            }
+            finishedSearches.add(new ServerMove(key, session, generation, cell));
+            selector.wakeup();
+        });
+    }
+
+    private void playFinishedSearches() {
+        ServerMove move;
+        while ((move = finishedSearches.poll()) != null) {
+            GameSession session = move.session;
+            if (!move.key.isValid() || move.generation != session.generation) {
+                continue;
+            }
+            session.searching = false;
+            if (!session.isServerTurn()) {
+                continue;
+            }
+            int cols = session.board.getCols();
+            int cell = move.cell;
+            if (session.board.checkMove(cell) != BoardView.VALID_MOVE) {
+                // a broken strategy must not stall the game
+                cell = session.board.nextEmptyCell(0);
+            }
+            writeBuffer.clear();
+            session.play(cell / cols, cell % cols);
+            reply(GameProtocol.OPPONENT, cell / cols, cell % cols, GameProtocol.encode(session.serverMark),
+                    session.status());
+            try {
+                send(move.key, session);
+            } catch (IOException e) {
+                disconnect(move.key);
+            }
+        }
+    }
+
+    private void reply(byte opcode, int a, int b, int c, int d) {
+        writeBuffer.put(opcode).put((byte) a).put((byte) b).put((byte) c).put((byte) d);
+    }
+
+    /**
+     * Keeps the replies the socket did not accept and waits until it is
+     * writable again
+     */
+    private void queue(SelectionKey key, GameSession session) {
+        ByteBuffer pending = session.pendingWrites;
+        int size = writeBuffer.remaining() + (pending == null ? 0 : pending.remaining());
+        ByteBuffer queued = ByteBuffer.allocate(size);
+        if (pending != null) {
+            queued.put(pending);
+        }
+        queued.put(writeBuffer).flip();
+        session.pendingWrites = queued;
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void flushPending(SelectionKey key) throws IOException {
+        GameSession session = (GameSession) key.attachment();
+        if (session.pendingWrites != null) {
+            ((SocketChannel) key.channel()).write(session.pendingWrites);
+            if (session.pendingWrites.hasRemaining()) {
+                return;
+            }
+            session.pendingWrites = null;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // only once the selector thread has stopped, so it never submits to a shut down pool
+        if (searchPool != null) {
+            searchPool.shutdownNow();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Serves 3x3 games against the perfect player
+     * 
+     * @param args optional port (default 7777)
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        GameServer server = new GameServer(new InetSocketAddress(port), Board::new, new PerfectPlayStrategy());
+        server.start();
+        System.out.println("Listening on port " + server.getPort());
+    }
+
+}
@@ -0,0 +1,91 @@
+package tictactoe.server;
+
+import java.nio.ByteBuffer;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+
+/**
+ * One game hosted by {@link GameServer}, tied to a client connection
+ * 
+ * Plays the role of Turn for a pushed protocol: it tracks the player to move
+ * and validates every move with {@link GameBoard#checkMove}, like the console
+ * game. Kept deliberately small so idle games cost only a few dozen bytes
+ * besides the board.
+ */
+final class GameSession {
+
+    GameBoard board;
+    Mark toMove;
+    // mark played by the server, EMPTY when the client plays both
+    Mark serverMark = Mark.EMPTY;
+    // bytes of a request split across reads
+    final byte[] partial = new byte[GameProtocol.REQUEST_SIZE - 1];
+    int partialLength;
+    // replies the socket could not take yet, usually null
+    ByteBuffer pendingWrites;
+    // bumped by every new game, so a search for an older game is ignored
+    int generation;
+    // a server move is being searched for game searchGeneration
+    boolean searching;
+    int searchGeneration;
+
+    void start(GameBoard board, Mark firstPlayer, Mark serverMark) {
+        this.board = board;
+        this.toMove = firstPlayer;
+        this.serverMark = serverMark;
+        this.generation++;
+    }
+
+    boolean isServerTurn() {
+        return board != null && !board.isGameOver() && toMove == serverMark;
+    }
+
+    /**
+     * @return true if it is the server's turn and no search for it runs yet
+     */
+    boolean needsSearch() {
+        return isServerTurn() && !(searching && searchGeneration == generation);
+    }
+
+    /**
+     * Plays a move for the player to move
+     * 
+     * @return 0 if accepted, otherwise the {@link GameProtocol} reject reason
+     */
+    byte play(int row, int col) {
+        if (board == null) {
+            return GameProtocol.NO_GAME;
+        }
+        if (board.isGameOver()) {
+            return GameProtocol.GAME_OVER;
+        }
+        if (!Coordinate.of(row, col).isInside(board.getRows(), board.getCols())) {
+            return GameProtocol.INVALID_SQUARE;
+        }
+        int cell = row * board.getCols() + col;
+        int check = board.checkMove(cell);
+        switch (check) {
+        case BoardView.VALID_MOVE:
+            break;
+        case BoardView.SQUARE_TAKEN:
+            return GameProtocol.SQUARE_TAKEN;
+        case BoardView.WRONG_BOARD:
+            return GameProtocol.WRONG_BOARD;
+        default:
+            return GameProtocol.INVALID_SQUARE;
+        }
+        board.placeMark(cell, toMove);
+        toMove = toMove.opponent();
+        return 0;
+    }
+
+    byte status() {
+        if (board.hasWinner()) {
+            return board.getWinner() == Mark.X ? GameProtocol.X_WINS : GameProtocol.O_WINS;
+        }
+        return board.isGameOver() ? GameProtocol.TIE : GameProtocol.PLAYING;
+    }
+
+}
@@ -0,0 +1,133 @@
+package tictactoe.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.player.StrategyFactory;
+
+/**
+ * Plays large numbers of games between two move strategies without any
+ * console input or output
+ * 
+ * Games are split into fork-join tasks. Each worker thread builds its board
+ * once and resets it between games, and each task counts its results in a
+ * private {@link SimulationResult} that is merged on join. Every task creates
+ * its own strategies through the given factories, so they do not need to be
+ * thread-safe.
+ * 
+ * Each task seeds its first-player choice and its strategies from the run
+ * seed and its range of games only, so a run with a fixed seed gives the same
+ * results on any number of threads.
+ */
+public class SelfPlaySimulator {
+
+    private static final long GAMES_PER_TASK = 4096;
+
+    private final Supplier<GameBoard> boardFactory;
+    private final StrategyFactory xStrategy;
+    private final StrategyFactory oStrategy;
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    public SelfPlaySimulator(Supplier<GameBoard> boardFactory, StrategyFactory xStrategy,
+            StrategyFactory oStrategy) {
+        this(boardFactory, xStrategy, oStrategy, ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    /**
+     * @param seed seeds the choice of first player in every game and the
+     *             strategies of every task
+     */
+    public SelfPlaySimulator(Supplier<GameBoard> boardFactory, StrategyFactory xStrategy,
+            StrategyFactory oStrategy, ForkJoinPool pool, long seed) {
+        this.boardFactory = boardFactory;
+        this.xStrategy = xStrategy;
+        this.oStrategy = oStrategy;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    public SimulationResult run(long games) {
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new Batch(workers, 0, games));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Board owned by one thread for the whole run
+     */
+    private final class Worker {
+        final GameBoard board = boardFactory.get();
+
+        void play(Player playerX, Player playerO, SplittableRandom random, SimulationResult result) {
+            board.reset();
+            Player current = random.nextBoolean() ? playerX : playerO;
+            Mark firstPlayer = current.getMark();
+            while (!board.isGameOver()) {
+                board.setMark(current.getMoveCell(board), current.getMark());
+                current = current == playerX ? playerO : playerX;
+            }
+            result.record(firstPlayer, board.getWinner(), board.getMoveCount());
+        }
+    }
+
+    private final class Batch extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final ThreadLocal<Worker> workers;
+        private final long from;
+        private final long to;
+
+        Batch(ThreadLocal<Worker> workers, long from, long to) {
+            this.workers = workers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from > GAMES_PER_TASK) {
+                long middle = (from + to) >>> 1;
+                Batch left = new Batch(workers, from, middle);
+                left.fork();
+                SimulationResult right = new Batch(workers, middle, to).compute();
+                return right.merge(left.join());
+            }
+            Worker worker = workers.get();
+            SimulationResult result = new SimulationResult(worker.board.getRows() * worker.board.getCols());
+            // the seed depends only on the range, so the games do not depend on scheduling
+            SplittableRandom random = new SplittableRandom(seed ^ from * 0x9E3779B97F4A7C15L);
+            Player playerX = new Player(Mark.X, "X", xStrategy.create(random.nextLong()));
+            Player playerO = new Player(Mark.O, "O", oStrategy.create(random.nextLong()));
+            for (long game = from; game < to; game++) {
+                worker.play(playerX, playerO, random, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Runs random against random play on the 3x3 board and prints the results
+     * 
+     * @param args optional number of games (default 1,000,000)
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        SelfPlaySimulator simulator = new SelfPlaySimulator(Board::new, RandomMoveStrategy::new,
+                RandomMoveStrategy::new);
+        simulator.run(Math.min(games, 100_000)); // warm-up
+        SimulationResult result = simulator.run(games);
+        System.out.print(result);
+        System.out.printf("%d threads, %.0f games/s per thread%n", ForkJoinPool.commonPool().getParallelism(),
+                result.getGamesPerSecond() / ForkJoinPool.commonPool().getParallelism());
+    }
+
+}
@@ -0,0 +1,116 @@
+package tictactoe.simulation;
+
+import tictactoe.board.Mark;
+
+/**
+ * Aggregated outcome of a batch of simulated games
+ * 
+ * Each worker fills its own instance and the instances are merged when the
+ * workers finish, so no counter is ever shared between threads.
+ */
+public class SimulationResult {
+
+    private long games;
+    private long xWins;
+    private long oWins;
+    private long ties;
+    private long xFirst;
+    private final long[] lengths;
+    private long elapsedNanos;
+
+    /**
+     * @param maxMoves the largest possible game length (squares on the board)
+     */
+    public SimulationResult(int maxMoves) {
+        this.lengths = new long[maxMoves + 1];
+    }
+
+    void record(Mark firstPlayer, Mark winner, int moves) {
+        games++;
+        if (firstPlayer == Mark.X) {
+            xFirst++;
+        }
+        if (winner == Mark.X) {
+            xWins++;
+        } else if (winner == Mark.O) {
+            oWins++;
+        } else {
+            ties++;
+        }
+        lengths[moves]++;
+    }
+
+    SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        xWins += other.xWins;
+        oWins += other.oWins;
+        ties += other.ties;
+        xFirst += other.xFirst;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] += other.lengths[i];
+        }
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins(Mark mark) {
+        return mark == Mark.X ? xWins : mark == Mark.O ? oWins : 0;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * @return how many games the given mark opened
+     */
+    public long getFirstMoves(Mark mark) {
+        return mark == Mark.X ? xFirst : mark == Mark.O ? games - xFirst : 0;
+    }
+
+    /**
+     * @return how many games ended after exactly {@code moves} moves
+     */
+    public long getGamesOfLength(int moves) {
+        return moves < lengths.length ? lengths[moves] : 0;
+    }
+
+    public double getAverageLength() {
+        long total = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            total += i * lengths[i];
+        }
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d games in %.3f s (%.0f games/s)%n", games, elapsedNanos / 1e9,
+                getGamesPerSecond()));
+        text.append(String.format("X wins: %d, O wins: %d, ties: %d%n", xWins, oWins, ties));
+        text.append(String.format("Average length: %.2f moves%n", getAverageLength()));
+        for (int i = 0; i < lengths.length; i++) {
+            if (lengths[i] > 0) {
+                text.append(String.format("  %3d moves: %d%n", i, lengths[i]));
+            }
+        }
+        return text.toString();
+    }
+
+}
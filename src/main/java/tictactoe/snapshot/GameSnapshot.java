@@ -0,0 +1,217 @@
+package tictactoe.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiFunction;
+import tictactoe.Game;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+import tictactoe.board.UltimateBoard;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Binary snapshot of a {@link Game}: the board kind and size, both players'
+ * marks and names, whose turn it is and the moves played, in order
+ * 
+ * Snapshots are read and written straight in a {@link ByteBuffer}, so they
+ * can live in a direct or memory-mapped buffer without copies. Layout of
+ * version 1:
+ * 
+ * <pre>
+ * byte  version
+ * byte  board kind: 0 Board, 1 MnkBoard, 2 UltimateBoard
+ * byte  rows, cols, win length
+ * byte  flags: bit 0 player 1 plays O, bit 1 player 2 plays O, bit 2 player 2 to move
+ * byte  name length, then UTF-8 name, for player 1 and player 2
+ * short move count
+ * moves: one byte per move on boards of up to 256 squares, otherwise a short
+ * marks: one bit per move, set for O, rounded up to bytes
+ * </pre>
+ * 
+ * A finished 3x3 game with two short names takes under 30 bytes. Replaying
+ * the moves rebuilds the winner, hash and undo history; moves that were
+ * taken back and could be redone are not kept. Strategies are not stored:
+ * the caller creates the players again from their marks and names.
+ */
+public final class GameSnapshot {
+
+    public static final byte VERSION = 1;
+
+    static final byte BOARD = 0;
+    static final byte MNK_BOARD = 1;
+    static final byte ULTIMATE_BOARD = 2;
+
+    private static final int MAX_NAME_BYTES = 255;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * @return bytes {@link #write(Game, ByteBuffer)} will take
+     */
+    public static int size(Game game) {
+        GameBoard board = game.getBoard();
+        int moves = board.getMoveCount();
+        int moveBytes = board.getRows() * board.getCols() <= 256 ? 1 : 2;
+        return 6 + nameLength(game.getPlayer1().getName()) + 1 + nameLength(game.getPlayer2().getName()) + 1 + 2
+                + moves * moveBytes + (moves + 7) / 8;
+    }
+
+    /**
+     * Writes the snapshot at the buffer position and advances it
+     * 
+     * @throws IllegalArgumentException           if the board kind is not
+     *                                            supported or a name is too
+     *                                            long
+     * @throws java.nio.BufferOverflowException if the snapshot does not fit
+     */
+    public static void write(Game game, ByteBuffer buffer) {
+        GameBoard board = game.getBoard();
+        Player player1 = game.getPlayer1();
+        Player player2 = game.getPlayer2();
+        int flags = (player1.getMark() == Mark.O ? 1 : 0) | (player2.getMark() == Mark.O ? 2 : 0)
+                | (game.getTurn().getCurrentPlayer() == player2 ? 4 : 0);
+        buffer.put(VERSION);
+        buffer.put(kind(board));
+        buffer.put((byte) board.getRows());
+        buffer.put((byte) board.getCols());
+        buffer.put((byte) board.getWinLength());
+        buffer.put((byte) flags);
+        putName(buffer, player1.getName());
+        putName(buffer, player2.getName());
+
+        int moves = board.getMoveCount();
+        int cols = board.getCols();
+        boolean wide = board.getRows() * cols > 256;
+        buffer.putShort((short) moves);
+        for (int ply = 0; ply < moves; ply++) {
+            int cell = board.getMove(ply);
+            if (wide) {
+                buffer.putShort((short) cell);
+            } else {
+                buffer.put((byte) cell);
+            }
+        }
+        int bits = 0;
+        for (int ply = 0; ply < moves; ply++) {
+            int cell = board.getMove(ply);
+            if (board.getMark(cell / cols, cell % cols) == Mark.O) {
+                bits |= 1 << (ply & 7);
+            }
+            if ((ply & 7) == 7 || ply == moves - 1) {
+                buffer.put((byte) bits);
+                bits = 0;
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot at the buffer position and advances it past it
+     * 
+     * @param players  creates each player from its mark and name
+     * @param observer observer of the restored game
+     * @throws IllegalArgumentException if the data is not a valid snapshot
+     */
+    public static Game read(ByteBuffer buffer, BiFunction<Mark, String, Player> players, GameObserver observer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        }
+        byte kind = buffer.get();
+        int rows = buffer.get() & 0xFF;
+        int cols = buffer.get() & 0xFF;
+        int winLength = buffer.get() & 0xFF;
+        int flags = buffer.get();
+        GameBoard board = newBoard(kind, rows, cols, winLength);
+        Player player1 = players.apply((flags & 1) != 0 ? Mark.O : Mark.X, getName(buffer));
+        Player player2 = players.apply((flags & 2) != 0 ? Mark.O : Mark.X, getName(buffer));
+
+        int moves = buffer.getShort() & 0xFFFF;
+        int cells = rows * cols;
+        if (moves > cells) {
+            throw new IllegalArgumentException("Snapshot has " + moves + " moves for " + cells + " squares");
+        }
+        boolean wide = cells > 256;
+        int cellsStart = buffer.position();
+        int marksStart = cellsStart + moves * (wide ? 2 : 1);
+        for (int ply = 0; ply < moves; ply++) {
+            int cell = wide ? buffer.getShort(cellsStart + 2 * ply) & 0xFFFF : buffer.get(cellsStart + ply) & 0xFF;
+            if (cell >= cells || !board.isEmpty(cell)) {
+                throw new IllegalArgumentException("Snapshot move " + ply + " is not an empty square");
+            }
+            boolean o = (buffer.get(marksStart + (ply >>> 3)) & (1 << (ply & 7))) != 0;
+            board.placeMark(cell, o ? Mark.O : Mark.X);
+        }
+        buffer.position(marksStart + (moves + 7) / 8);
+
+        Game game = new Game(player1, player2, board, observer);
+        game.getTurn().setCurrentPlayer((flags & 4) != 0 ? player2 : player1);
+        return game;
+    }
+
+    private static byte kind(GameBoard board) {
+        if (board instanceof Board) {
+            return BOARD;
+        }
+        if (board instanceof MnkBoard) {
+            return MNK_BOARD;
+        }
+        if (board instanceof UltimateBoard) {
+            return ULTIMATE_BOARD;
+        }
+        throw new IllegalArgumentException("Cannot snapshot a " + board.getClass().getSimpleName());
+    }
+
+    private static GameBoard newBoard(byte kind, int rows, int cols, int winLength) {
+        switch (kind) {
+        case BOARD:
+            return new Board();
+        case MNK_BOARD:
+            return new MnkBoard(rows, cols, winLength);
+        case ULTIMATE_BOARD:
+            return new UltimateBoard();
+        default:
+            throw new IllegalArgumentException("Unknown board kind " + kind);
+        }
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int nameLength(String name) {
+        return isAscii(name) ? name.length() : name.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putName(ByteBuffer buffer, String name) {
+        int length = nameLength(name);
+        if (length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name longer than " + MAX_NAME_BYTES + " bytes: " + name);
+        }
+        buffer.put((byte) length);
+        if (isAscii(name)) {
+            // plain ASCII, the common case, needs no encoder nor temporary array
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) name.charAt(i));
+            }
+        } else {
+            buffer.put(name.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String getName(ByteBuffer buffer) {
+        int length = buffer.get() & 0xFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,112 @@
+package tictactoe.snapshot;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import tictactoe.Game;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Pages many games to a local file at once and restores them
+ * 
+ * The file has a 16-byte header ("TTTS", format version, game count at
+ * offset 8) followed by every {@link GameSnapshot}, each preceded by its
+ * length as a short. Games are written through one reused direct buffer and
+ * read back from a memory-mapped view of the file, so no snapshot is copied on
+ * the way.
+ */
+public final class GameSnapshotFile {
+
+    static final int HEADER_SIZE = 16;
+    static final byte[] MAGIC = { 'T', 'T', 'T', 'S' };
+
+    /**
+     * Fits the largest snapshot, a full 64x64 game with two 255-byte names
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private GameSnapshotFile() {
+    }
+
+    /**
+     * Replaces the file with snapshots of the given games, in order
+     */
+    public static void write(Path file, Collection<Game> games) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.put(MAGIC).put(GameSnapshot.VERSION);
+            buffer.putInt(8, games.size());
+            buffer.position(HEADER_SIZE);
+            for (Game game : games) {
+                int size = GameSnapshot.size(game);
+                if (buffer.remaining() < 2 + size) {
+                    flush(channel, buffer);
+                }
+                buffer.putShort((short) size);
+                GameSnapshot.write(game, buffer);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Restores every game of a file written by
+     * {@link #write(Path, Collection)}
+     * 
+     * @param players  creates each player from its mark and name
+     * @param observer observer of every restored game
+     */
+    public static List<Game> read(Path file, BiFunction<Mark, String, Player> players, GameObserver observer)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        byte[] magic = new byte[MAGIC.length];
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("Not a snapshot file: " + file);
+        }
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || buffer.get() != GameSnapshot.VERSION) {
+            throw new IOException("Not a snapshot file: " + file);
+        }
+        int count = buffer.getInt(8);
+        buffer.position(HEADER_SIZE);
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int size = buffer.getShort() & 0xFFFF;
+            int end = buffer.position() + size;
+            try {
+                games.add(GameSnapshot.read(buffer, players, observer));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+                throw new IOException("Corrupt snapshot " + i + " in " + file, e);
+            }
+            if (buffer.position() != end) {
+                throw new IOException("Corrupt snapshot " + i + " in " + file);
+            }
+        }
+        return games;
+    }
+
+}
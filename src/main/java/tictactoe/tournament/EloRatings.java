@@ -0,0 +1,129 @@
+package tictactoe.tournament;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Elo ratings updated one game at a time
+ * 
+ * Besides the rating, every player keeps its score statistics, from which
+ * {@link #getMargin(int)} estimates how far the rating could be off with 95%
+ * confidence: the standard error of the mean score, converted to Elo through
+ * the slope of the logistic expectancy curve.
+ */
+public class EloRatings {
+
+    public static final double INITIAL_RATING = 1500;
+
+    private static final double Z_95 = 1.96;
+    private static final double ELO_PER_LOG = 400 / Math.log(10);
+
+    private final double k;
+    private final double[] ratings;
+    private final long[] games;
+    private final double[] scores;
+    private final double[] squaredScores;
+
+    /**
+     * @param k largest change of a rating after one game, e.g. 16
+     */
+    public EloRatings(int players, double k) {
+        this.k = k;
+        this.ratings = new double[players];
+        this.games = new long[players];
+        this.scores = new double[players];
+        this.squaredScores = new double[players];
+        Arrays.fill(ratings, INITIAL_RATING);
+    }
+
+    public int getPlayers() {
+        return ratings.length;
+    }
+
+    /**
+     * Probability-like score a player is expected to make against another
+     */
+    public static double expectedScore(double rating, double opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+    }
+
+    /**
+     * @param score of player a: 1 win, 0.5 draw, 0 loss
+     */
+    public void update(int a, int b, double score) {
+        double delta = k * (score - expectedScore(ratings[a], ratings[b]));
+        ratings[a] += delta;
+        ratings[b] -= delta;
+        record(a, score);
+        record(b, 1 - score);
+    }
+
+    private void record(int player, double score) {
+        games[player]++;
+        scores[player] += score;
+        squaredScores[player] += score * score;
+    }
+
+    public void update(MatchResult match) {
+        for (int game = 0; game < match.getGames(); game++) {
+            byte outcome = match.getOutcome(game);
+            update(match.getFirst(), match.getSecond(),
+                    outcome == MatchResult.FIRST_WINS ? 1 : outcome == MatchResult.SECOND_WINS ? 0 : 0.5);
+        }
+    }
+
+    public double getRating(int player) {
+        return ratings[player];
+    }
+
+    public long getGames(int player) {
+        return games[player];
+    }
+
+    /**
+     * @return points scored: 1 per win, 1/2 per draw
+     */
+    public double getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * @return half width of the 95% confidence interval of the rating, or
+     *         infinity before two games
+     */
+    public double getMargin(int player) {
+        long n = games[player];
+        if (n < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = scores[player] / n;
+        // keep the slope finite for players who won or lost everything
+        double p = Math.min(1 - 0.5 / n, Math.max(0.5 / n, mean));
+        double variance = squaredScores[player] / n - mean * mean;
+        if (variance <= 0) {
+            variance = p * (1 - p);
+        }
+        double standardError = Math.sqrt(variance / n);
+        return Z_95 * standardError * ELO_PER_LOG / (p * (1 - p));
+    }
+
+    /**
+     * @return entrants sorted by rating, one per line with score and margin
+     */
+    public String table(List<Entrant> entrants) {
+        Integer[] order = new Integer[ratings.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ratings[b], ratings[a]));
+        StringBuilder text = new StringBuilder();
+        for (int rank = 0; rank < order.length; rank++) {
+            int player = order[rank];
+            text.append(String.format("%2d. %-20s %7.1f +/- %5.1f  %7.1f / %d%n", rank + 1,
+                    entrants.get(player).getName(), ratings[player], getMargin(player), scores[player],
+                    games[player]));
+        }
+        return text.toString();
+    }
+
+}
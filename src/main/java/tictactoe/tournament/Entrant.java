@@ -0,0 +1,31 @@
+package tictactoe.tournament;
+
+import tictactoe.player.StrategyFactory;
+
+/**
+ * A named move strategy taking part in a tournament
+ */
+public class Entrant {
+
+    private final String name;
+    private final StrategyFactory strategies;
+
+    public Entrant(String name, StrategyFactory strategies) {
+        this.name = name;
+        this.strategies = strategies;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public StrategyFactory getStrategies() {
+        return strategies;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
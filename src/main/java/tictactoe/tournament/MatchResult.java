@@ -0,0 +1,73 @@
+package tictactoe.tournament;
+
+/**
+ * Games played between two entrants, kept in the order they were played
+ */
+public class MatchResult {
+
+    public static final byte FIRST_WINS = 1;
+    public static final byte SECOND_WINS = 2;
+    public static final byte DRAW = 3;
+
+    private final int round;
+    private final int first;
+    private final int second;
+    private final byte[] outcomes;
+
+    MatchResult(int round, int first, int second, byte[] outcomes) {
+        this.round = round;
+        this.first = first;
+        this.second = second;
+        this.outcomes = outcomes;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * @return index of the first entrant in the tournament
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public int getGames() {
+        return outcomes.length;
+    }
+
+    /**
+     * @return {@link #FIRST_WINS}, {@link #SECOND_WINS} or {@link #DRAW}
+     */
+    public byte getOutcome(int game) {
+        return outcomes[game];
+    }
+
+    public int count(byte outcome) {
+        int count = 0;
+        for (byte played : outcomes) {
+            if (played == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return points of the first entrant: 1 per win, 1/2 per draw
+     */
+    public double getFirstScore() {
+        return count(FIRST_WINS) + 0.5 * count(DRAW);
+    }
+
+    @Override
+    public String toString() {
+        return "round " + round + ": " + first + " vs " + second + " +" + count(FIRST_WINS) + " -"
+                + count(SECOND_WINS) + " =" + count(DRAW);
+    }
+
+}
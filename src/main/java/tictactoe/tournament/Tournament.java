@@ -0,0 +1,236 @@
+package tictactoe.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import tictactoe.Game;
+import tictactoe.ai.NegamaxStrategy;
+import tictactoe.ai.PerfectPlayStrategy;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.ai.TranspositionTable;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.player.MoveStrategy;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+/**
+ * Plays round-robin or Swiss tournaments between move strategies on every
+ * core and rates the entrants as the results come in
+ * 
+ * Every match gets its own {@link SplittableRandom}, split from the
+ * tournament seed in schedule order: it seeds both strategies and picks the
+ * first player of each game. Matches run in parallel, but their results are
+ * applied to the {@link EloRatings} in schedule order as soon as each one and
+ * all earlier ones are done, so a rerun with the same seed and deterministic
+ * strategies reproduces every game and rating bit for bit.
+ */
+public class Tournament {
+
+    public static final double DEFAULT_K = 16;
+
+    private final List<Entrant> entrants;
+    private final Supplier<GameBoard> boards;
+    private final int gamesPerMatch;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final EloRatings ratings;
+    private final List<MatchResult> results = new ArrayList<MatchResult>();
+    private Consumer<MatchResult> listener = result -> {
+    };
+
+    public Tournament(List<Entrant> entrants, Supplier<GameBoard> boards, int gamesPerMatch, long seed) {
+        this(entrants, boards, gamesPerMatch, ForkJoinPool.commonPool(), seed, DEFAULT_K);
+    }
+
+    /**
+     * @param gamesPerMatch games each pairing plays, alternating X and O
+     * @param k             Elo K-factor
+     */
+    public Tournament(List<Entrant> entrants, Supplier<GameBoard> boards, int gamesPerMatch, ForkJoinPool pool,
+            long seed, double k) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants");
+        }
+        this.entrants = new ArrayList<Entrant>(entrants);
+        this.boards = boards;
+        this.gamesPerMatch = gamesPerMatch;
+        this.pool = pool;
+        this.seed = seed;
+        this.ratings = new EloRatings(entrants.size(), k);
+    }
+
+    /**
+     * @param listener called on the calling thread after each result is
+     *                 rated, in schedule order
+     */
+    public void setListener(Consumer<MatchResult> listener) {
+        this.listener = listener;
+    }
+
+    public List<Entrant> getEntrants() {
+        return Collections.unmodifiableList(entrants);
+    }
+
+    public EloRatings getRatings() {
+        return ratings;
+    }
+
+    public List<MatchResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Every entrant plays one match against every other entrant
+     */
+    public EloRatings roundRobin() {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Match> matches = new ArrayList<Match>();
+        for (int first = 0; first < entrants.size(); first++) {
+            for (int second = first + 1; second < entrants.size(); second++) {
+                matches.add(new Match(0, first, second, random.split()));
+            }
+        }
+        play(matches);
+        return ratings;
+    }
+
+    /**
+     * Each round pairs entrants with close scores who have not met yet; with
+     * an odd number of entrants the lowest unpaired one sits the round out
+     */
+    public EloRatings swiss(int rounds) {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean[][] met = new boolean[entrants.size()][entrants.size()];
+        for (int round = 0; round < rounds; round++) {
+            List<Match> matches = new ArrayList<Match>();
+            int[] order = standings();
+            boolean[] paired = new boolean[order.length];
+            for (int i = 0; i < order.length; i++) {
+                if (paired[i]) {
+                    continue;
+                }
+                int opponent = -1;
+                for (int j = i + 1; j < order.length; j++) {
+                    if (!paired[j] && (opponent < 0 || !met[order[i]][order[j]])) {
+                        opponent = j;
+                        if (!met[order[i]][order[j]]) {
+                            break;
+                        }
+                    }
+                }
+                if (opponent < 0) {
+                    break;
+                }
+                paired[i] = true;
+                paired[opponent] = true;
+                met[order[i]][order[opponent]] = true;
+                met[order[opponent]][order[i]] = true;
+                matches.add(new Match(round, order[i], order[opponent], random.split()));
+            }
+            play(matches);
+        }
+        return ratings;
+    }
+
+    /**
+     * @return entrant indices by score, then rating, then entry order
+     */
+    private int[] standings() {
+        Integer[] order = new Integer[entrants.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(ratings.getScore(b), ratings.getScore(a));
+            return byScore != 0 ? byScore : Double.compare(ratings.getRating(b), ratings.getRating(a));
+        });
+        int[] indices = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            indices[i] = order[i];
+        }
+        return indices;
+    }
+
+    private void play(List<Match> matches) {
+        List<ForkJoinTask<MatchResult>> tasks = new ArrayList<ForkJoinTask<MatchResult>>(matches.size());
+        for (Match match : matches) {
+            tasks.add(pool.submit(match::play));
+        }
+        for (ForkJoinTask<MatchResult> task : tasks) {
+            MatchResult result = task.join();
+            ratings.update(result);
+            results.add(result);
+            listener.accept(result);
+        }
+    }
+
+    private final class Match {
+        private final int round;
+        private final int first;
+        private final int second;
+        private final SplittableRandom random;
+
+        Match(int round, int first, int second, SplittableRandom random) {
+            this.round = round;
+            this.first = first;
+            this.second = second;
+            this.random = random;
+        }
+
+        MatchResult play() {
+            Entrant a = entrants.get(first);
+            Entrant b = entrants.get(second);
+            MoveStrategy strategyA = a.getStrategies().create(random.nextLong());
+            MoveStrategy strategyB = b.getStrategies().create(random.nextLong());
+            Player[] aPlays = { new Player(Mark.X, a.getName(), strategyA), new Player(Mark.O, a.getName(), strategyA) };
+            Player[] bPlays = { new Player(Mark.O, b.getName(), strategyB), new Player(Mark.X, b.getName(), strategyB) };
+            GameBoard board = boards.get();
+            byte[] outcomes = new byte[gamesPerMatch];
+            for (int game = 0; game < gamesPerMatch; game++) {
+                int colors = game & 1;
+                board.reset();
+                new Game(aPlays[colors], bPlays[colors], board, GameObserver.NONE, random).play();
+                Mark winner = board.getWinner();
+                outcomes[game] = winner == null ? MatchResult.DRAW
+                        : winner == aPlays[colors].getMark() ? MatchResult.FIRST_WINS : MatchResult.SECOND_WINS;
+            }
+            return new MatchResult(round, first, second, outcomes);
+        }
+    }
+
+    /**
+     * Rates the built-in strategies on the 3x3 board
+     * 
+     * @param args optional games per match (default 200), number of Swiss
+     *             rounds (default 0 for round robin) and seed (default 1)
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        List<Entrant> entrants = new ArrayList<Entrant>();
+        entrants.add(new Entrant("random", RandomMoveStrategy::new));
+        for (int depth = 1; depth <= 4; depth++) {
+            int maxDepth = depth;
+            entrants.add(new Entrant("negamax-" + depth,
+                    s -> new NegamaxStrategy(new TranspositionTable(1 << 12), maxDepth)));
+        }
+        entrants.add(new Entrant("perfect", s -> new PerfectPlayStrategy()));
+
+        Tournament tournament = new Tournament(entrants, Board::new, games, seed);
+        long start = System.nanoTime();
+        EloRatings ratings = rounds > 0 ? tournament.swiss(rounds) : tournament.roundRobin();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(ratings.table(entrants));
+        System.out.printf("%d matches in %.2f s%n", tournament.getResults().size(), seconds);
+    }
+
+}
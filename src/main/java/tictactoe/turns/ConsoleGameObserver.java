@@ -0,0 +1,51 @@
+package tictactoe.turns;
+
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.player.Player;
+import tictactoe.utilities.FrameRenderer;
+
+/**
+ * Prints the game on the console, one write per event
+ */
+public class ConsoleGameObserver implements GameObserver {
+
+    private final FrameRenderer renderer;
+
+    public ConsoleGameObserver() {
+        this(new FrameRenderer(System.out, true));
+    }
+
+    public ConsoleGameObserver(FrameRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void firstPlayerChosen(Player player) {
+        renderer.line("¡" + player.getName() + " comienza el juego!").flush();
+    }
+
+    @Override
+    public void turnStarted(Player player, BoardView board) {
+        renderer.line("\n\nPlayer " + player.getMark() + " turn").board(board).flush();
+    }
+
+    @Override
+    public void moveRejected(Player player, Coordinate coordinate, String reason) {
+        renderer.error(reason).flush();
+    }
+
+    @Override
+    public void gameWon(Player winner) {
+        renderer.success("Player " + winner.getMark() + " wins!")
+                .success("Player " + winner.getName() + " wins!")
+                .success("Game over!")
+                .flush();
+    }
+
+    @Override
+    public void gameTied() {
+        renderer.success("It's a tie!").flush();
+    }
+
+}
@@ -0,0 +1,120 @@
+package tictactoe.turns;
+
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.player.Player;
+
+/**
+ * Receives what happens during a game: the console prints it, headless and
+ * batch drivers can ignore it. Every method does nothing by default.
+ */
+public interface GameObserver {
+
+    /**
+     * Observer that ignores every event
+     */
+    GameObserver NONE = new GameObserver() {
+    };
+
+    /**
+     * @return an observer that forwards every event to each of the given
+     *         observers in order
+     */
+    static GameObserver all(GameObserver... observers) {
+        return new GameObserver() {
+            @Override
+            public void gameStarted() {
+                for (GameObserver observer : observers) {
+                    observer.gameStarted();
+                }
+            }
+
+            @Override
+            public void gameResumed(Player player, BoardView board) {
+                for (GameObserver observer : observers) {
+                    observer.gameResumed(player, board);
+                }
+            }
+
+            @Override
+            public void firstPlayerChosen(Player player) {
+                for (GameObserver observer : observers) {
+                    observer.firstPlayerChosen(player);
+                }
+            }
+
+            @Override
+            public void turnStarted(Player player, BoardView board) {
+                for (GameObserver observer : observers) {
+                    observer.turnStarted(player, board);
+                }
+            }
+
+            @Override
+            public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+                for (GameObserver observer : observers) {
+                    observer.movePlayed(player, coordinate, board);
+                }
+            }
+
+            @Override
+            public void moveRejected(Player player, Coordinate coordinate, String reason) {
+                for (GameObserver observer : observers) {
+                    observer.moveRejected(player, coordinate, reason);
+                }
+            }
+
+            @Override
+            public void gameWon(Player winner) {
+                for (GameObserver observer : observers) {
+                    observer.gameWon(winner);
+                }
+            }
+
+            @Override
+            public void gameTied() {
+                for (GameObserver observer : observers) {
+                    observer.gameTied();
+                }
+            }
+        };
+    }
+
+    default void gameStarted() {
+    }
+
+    /**
+     * Called instead of {@link #gameStarted()} and
+     * {@link #firstPlayerChosen(Player)} when a restored game goes on
+     * 
+     * @param player the player who has the turn
+     * @param board  the moves played before the game was suspended
+     */
+    default void gameResumed(Player player, BoardView board) {
+    }
+
+    default void firstPlayerChosen(Player player) {
+    }
+
+    /**
+     * Called before asking a player for a move, again after a rejected move
+     */
+    default void turnStarted(Player player, BoardView board) {
+    }
+
+    default void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+    }
+
+    /**
+     * @param reason why the board refused the move
+     */
+    default void moveRejected(Player player, Coordinate coordinate, String reason) {
+    }
+
+    default void gameWon(Player winner) {
+    }
+
+    default void gameTied() {
+    }
+
+}
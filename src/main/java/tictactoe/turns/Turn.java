@@ -1,41 +1,77 @@
 package tictactoe.turns;
 
-import java.util.Random;
-import tictactoe.board.Board;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
 import tictactoe.board.Mark;
+import tictactoe.metrics.GameMetrics;
+import tictactoe.player.MoveStrategy;
 import tictactoe.player.Player;
 
 public class Turn {
     private Player player1;
     private Player player2;
-    private Board board;
+    private GameBoard board;
     private Player currentPlayer;
-    tictactoe.utilities.ConsoleUtils console = tictactoe.utilities.ConsoleUtils.getInstance();
+    private GameObserver observer;
+    private SplittableRandom random;
+    private boolean abandoned;
+    private final GameMetrics metrics = GameMetrics.getInstance();
 
-    public Turn(Player player1, Player player2, Board board) {
+    public Turn(Player player1, Player player2, GameBoard board) {
+        this(player1, player2, board, new ConsoleGameObserver());
+    }
+
+    public Turn(Player player1, Player player2, GameBoard board, GameObserver observer) {
+        this(player1, player2, board, observer, null);
+    }
+
+    /**
+     * @param random elige el primer jugador, para repetir partidas con la misma
+     *               semilla; con null se usa el generador del hilo
+     */
+    public Turn(Player player1, Player player2, GameBoard board, GameObserver observer, SplittableRandom random) {
         this.player1 = player1;
         this.player2 = player2;
         this.board = board;
-        this.currentPlayer = getFirstPlayer(); // Selecciona aleatoriamente el primer jugador
+        this.observer = observer;
+        this.random = random;
+        this.currentPlayer = player1;
     }
 
-    private void takeTurn() {
-        boolean error = true;
-        while (error) {
-            console.printText("\n\nPlayer " + currentPlayer.getMark() + " turn");
-            board.printBoard();
+    /**
+     * @return false si el jugador no tiene tiro y la partida queda sin terminar
+     */
+    private boolean takeTurn() {
+        while (true) {
+            observer.turnStarted(currentPlayer, board.view());
             // el turno no puede pedirle al jugador su tiro, el jugador lo debe de hacer
 
-            tictactoe.board.Coordinate coordinate = currentPlayer.getMove();
-            try {
-                // board.setMark(row, col, currentPlayer.getMark());
-                board.setMark(coordinate, currentPlayer.getMark());
-                error = false;
-            } catch (IllegalArgumentException e) {
-                console.printError(e.getMessage());
-                takeTurn();
-                error = true;
+            // el reloj solo se consulta con las métricas activadas
+            boolean timed = metrics.isEnabled();
+            long start = timed ? System.nanoTime() : 0;
+            int cell = currentPlayer.getMoveCell(board);
+            long chosen = timed ? System.nanoTime() : 0;
+            if (cell == MoveStrategy.NO_MOVE) {
+                return false;
+            }
+            // la validación no lanza excepciones: los guiones rechazan jugadas a menudo
+            int check = board.checkMove(cell);
+            if (check == BoardView.VALID_MOVE) {
+                board.placeMark(cell, currentPlayer.getMark());
+                // el tiempo del motor no incluye a los observadores (consola, grabación)
+                if (timed) {
+                    metrics.movePlayed(chosen - start, System.nanoTime() - chosen);
+                }
+                observer.movePlayed(currentPlayer, Coordinate.ofCell(cell, board.getCols()), board.view());
+                return true;
+            }
+            if (timed) {
+                metrics.moveRejected(check, chosen - start);
             }
+            observer.moveRejected(currentPlayer, Coordinate.ofCell(cell, board.getCols()), BoardView.describe(check));
         }
     }
 
@@ -52,13 +88,66 @@ public class Turn {
     }
 
     public void play() {
-        currentPlayer = getFirstPlayer();
+        play(getFirstPlayer()); // Selecciona aleatoriamente el primer jugador
+    }
+
+    /**
+     * Juega la partida empezando por el jugador dado, p. ej. al reproducir un
+     * guion grabado
+     */
+    public void play(Player firstPlayer) {
+        if (firstPlayer != player1 && firstPlayer != player2) {
+            throw new IllegalArgumentException("The first player must play this game");
+        }
+        observer.gameStarted();
+        observer.firstPlayerChosen(firstPlayer);
+        currentPlayer = firstPlayer;
+        playTurns();
+    }
+
+    /**
+     * Sigue una partida suspendida con el jugador que tenía el turno, sin
+     * volver a elegir quién empieza; los observadores reciben el tablero
+     * restaurado en lugar del inicio de la partida
+     */
+    public void resume() {
+        observer.gameResumed(currentPlayer, board.view());
+        playTurns();
+    }
+
+    private void playTurns() {
+        abandoned = false;
         while (!board.isGameOver()) {
-            takeTurn();
+            if (!takeTurn()) {
+                abandoned = true;
+                return;
+            }
             switchPlayer();
         }
     }
 
+    /**
+     * Indica si la última partida se detuvo porque un jugador respondió
+     * {@link MoveStrategy#NO_MOVE}
+     */
+    public boolean isAbandoned() {
+        return abandoned;
+    }
+
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Pone el turno en manos de un jugador, p. ej. al restaurar una partida
+     */
+    public void setCurrentPlayer(Player player) {
+        if (player != player1 && player != player2) {
+            throw new IllegalArgumentException("The player must play this game");
+        }
+        currentPlayer = player;
+    }
+
     public boolean isATie() {
         if (board.isGameOver() && !board.hasWinner()) {
             return true;
@@ -75,16 +164,9 @@ public class Turn {
     }
 
     private Player getFirstPlayer() {
-        Random random = new Random();
-        int randomChoice = random.nextInt(2);
+        boolean first = random != null ? random.nextBoolean() : ThreadLocalRandom.current().nextBoolean();
 
-        if (randomChoice == 0) {
-            System.out.println("¡" + player1.getName() + " comienza el juego!");
-            return player1;
-        } else {
-            System.out.println("¡" + player2.getName() + " comienza el juego!");
-            return player2;
-        }
+        return first ? player1 : player2;
     }
 
 }
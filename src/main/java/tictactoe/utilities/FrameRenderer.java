@@ -0,0 +1,232 @@
+package tictactoe.utilities;
+
+import java.io.PrintStream;
+import tictactoe.board.BoardView;
+import tictactoe.board.GameBoard;
+
+/**
+ * Composes a whole frame of console output (boards, prompts, colored status
+ * lines) in one reusable buffer and writes it with a single call
+ * 
+ * On ANSI terminals {@link #redraw()} repaints the frame in place and only
+ * rewrites the lines that changed since the previous redraw, which keeps a
+ * dashboard of many live boards cheap to refresh.
+ */
+public class FrameRenderer {
+
+    private static final String CLEAR_SCREEN = "\u001B[2J\u001B[H";
+    private static final String CLEAR_TO_END_OF_LINE = "\u001B[K";
+    private static final String CLEAR_TO_END_OF_SCREEN = "\u001B[J";
+
+    private final PrintStream out;
+    private final boolean ansi;
+
+    private StringBuilder frame = new StringBuilder(1024);
+    private StringBuilder previous = new StringBuilder(1024);
+    private boolean hasPrevious;
+
+    /**
+     * @param out  where frames are written
+     * @param ansi whether ANSI colors and cursor movement may be used
+     */
+    public FrameRenderer(PrintStream out, boolean ansi) {
+        this.out = out;
+        this.ansi = ansi;
+    }
+
+    /**
+     * @return a renderer on standard output, using ANSI codes unless the
+     *         terminal is known not to support them
+     */
+    public static FrameRenderer console() {
+        String term = System.getenv("TERM");
+        return new FrameRenderer(System.out, !"dumb".equals(term) && !System.getProperty("os.name").contains("Windows"));
+    }
+
+    // ==================== COMPOSING ====================
+
+    public FrameRenderer text(String text) {
+        frame.append(text);
+        return this;
+    }
+
+    public FrameRenderer line(String text) {
+        frame.append(text).append('\n');
+        return this;
+    }
+
+    public FrameRenderer line(String text, String color) {
+        if (ansi) {
+            frame.append(color).append(text).append(ConsoleUtils.getColorReset()).append('\n');
+        } else {
+            frame.append(text).append('\n');
+        }
+        return this;
+    }
+
+    public FrameRenderer error(String message) {
+        return line("ERROR: " + message, ConsoleUtils.getColorRed());
+    }
+
+    public FrameRenderer success(String message) {
+        return line("SUCCESS: " + message, ConsoleUtils.getColorGreen());
+    }
+
+    public FrameRenderer info(String message) {
+        return line("INFO: " + message, ConsoleUtils.getColorBlue());
+    }
+
+    /**
+     * Appends the board one row per line, in the same layout as
+     * {@link GameBoard#printBoard()}
+     */
+    public FrameRenderer board(BoardView board) {
+        for (int row = 0; row < board.getRows(); row++) {
+            appendRow(board, row);
+            frame.append('\n');
+        }
+        return this;
+    }
+
+    /**
+     * Appends many boards side by side, {@code columns} boards per band, each
+     * under its title
+     * 
+     * @param titles one title per board, or null to number the boards
+     */
+    public FrameRenderer dashboard(BoardView[] boards, String[] titles, int columns) {
+        for (int first = 0; first < boards.length; first += columns) {
+            int last = Math.min(boards.length, first + columns);
+            int height = 0;
+            for (int i = first; i < last; i++) {
+                height = Math.max(height, boards[i].getRows());
+            }
+            for (int i = first; i < last; i++) {
+                String title = titles != null ? titles[i] : "#" + (i + 1);
+                int width = 2 * boards[i].getCols();
+                appendPadded(title, width, i + 1 < last);
+            }
+            frame.append('\n');
+            for (int row = 0; row < height; row++) {
+                for (int i = first; i < last; i++) {
+                    int start = frame.length();
+                    if (row < boards[i].getRows()) {
+                        appendRow(boards[i], row);
+                    }
+                    if (i + 1 < last) {
+                        pad(2 * boards[i].getCols() - (frame.length() - start));
+                        frame.append("   ");
+                    }
+                }
+                frame.append('\n');
+            }
+            frame.append('\n');
+        }
+        return this;
+    }
+
+    private void appendRow(BoardView board, int row) {
+        for (int col = 0; col < board.getCols(); col++) {
+            frame.append(board.getMark(row, col)).append(' ');
+        }
+    }
+
+    private void appendPadded(String text, int width, boolean separator) {
+        int start = frame.length();
+        frame.append(text);
+        if (separator) {
+            pad(width - (frame.length() - start));
+            frame.append("   ");
+        }
+    }
+
+    private void pad(int spaces) {
+        for (int i = 0; i < spaces; i++) {
+            frame.append(' ');
+        }
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Writes the composed frame after whatever is already on screen, then
+     * starts a new frame
+     */
+    public void flush() {
+        out.append(frame);
+        out.flush();
+        frame.setLength(0);
+    }
+
+    /**
+     * Paints the composed frame from the top of the screen. On ANSI terminals
+     * only the lines that differ from the previous redraw are rewritten;
+     * otherwise the whole frame is written as with {@link #flush()}.
+     */
+    public void redraw() {
+        if (!ansi) {
+            flush();
+            return;
+        }
+        // the escape sequences are appended after the frame, then the frames are swapped
+        int frameLength = frame.length();
+        if (!hasPrevious) {
+            out.append(CLEAR_SCREEN).append(frame);
+        } else {
+            int line = 1;
+            int start = 0;
+            int previousStart = 0;
+            while (start < frameLength) {
+                int end = lineEnd(frame, start, frameLength);
+                int previousEnd = previousStart < previous.length() ? lineEnd(previous, previousStart, previous.length())
+                        : -1;
+                if (previousEnd < 0 || !sameLine(start, end, previousStart, previousEnd)) {
+                    frame.append("\u001B[").append(line).append(";1H").append(frame, start, end)
+                            .append(CLEAR_TO_END_OF_LINE);
+                }
+                start = end + 1;
+                previousStart = previousEnd < 0 ? previous.length() : previousEnd + 1;
+                line++;
+            }
+            frame.append("\u001B[").append(line).append(";1H").append(CLEAR_TO_END_OF_SCREEN);
+            out.append(frame, frameLength, frame.length());
+        }
+        out.flush();
+        frame.setLength(frameLength);
+
+        StringBuilder swap = previous;
+        previous = frame;
+        frame = swap;
+        frame.setLength(0);
+        hasPrevious = true;
+    }
+
+    /**
+     * Forgets the previous frame so the next redraw repaints everything
+     */
+    public void invalidate() {
+        hasPrevious = false;
+        previous.setLength(0);
+    }
+
+    private static int lineEnd(StringBuilder text, int start, int length) {
+        int end = start;
+        while (end < length && text.charAt(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private boolean sameLine(int start, int end, int previousStart, int previousEnd) {
+        if (end - start != previousEnd - previousStart) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (frame.charAt(start + i) != previous.charAt(previousStart + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
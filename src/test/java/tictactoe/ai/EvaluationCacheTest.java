@@ -0,0 +1,139 @@
+package tictactoe.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+import tictactoe.player.MoveStrategy;
+
+public class EvaluationCacheTest extends TestCase {
+
+    public void testStoresAndPacksEntries() {
+        EvaluationCache cache = new EvaluationCache(1 << 16);
+        assertEquals(EvaluationCache.MISS, cache.get(42));
+        cache.put(42, EvaluationCache.entry(7, -3));
+        long entry = cache.get(42);
+        assertEquals(7, EvaluationCache.move(entry));
+        assertEquals(-3, EvaluationCache.score(entry));
+        assertEquals(-1, EvaluationCache.move(EvaluationCache.entry(-1, 0)));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertTrue(cache.capacity() * EvaluationCache.BYTES_PER_ENTRY <= 1 << 16);
+    }
+
+    public void testClockKeepsRecentlyUsedEntries() {
+        // a single bucket of four slots
+        EvaluationCache cache = new EvaluationCache(4 * EvaluationCache.BYTES_PER_ENTRY);
+        assertEquals(4, cache.capacity());
+        for (int key = 1; key <= 4; key++) {
+            cache.put(key, EvaluationCache.entry(key, 0));
+        }
+        cache.get(1);
+        cache.put(5, EvaluationCache.entry(5, 0));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, EvaluationCache.move(cache.get(1)));
+        assertEquals(EvaluationCache.MISS, cache.get(2));
+        assertEquals(5, EvaluationCache.move(cache.get(5)));
+    }
+
+    public void testConcurrentReadersNeverSeeForeignEntries() throws InterruptedException {
+        final EvaluationCache cache = new EvaluationCache(64 * 1024);
+        final AtomicInteger wrong = new AtomicInteger();
+        Thread[] threads = new Thread[32];
+        for (int t = 0; t < threads.length; t++) {
+            final long seed = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 100000; i++) {
+                    long key = 1 + random.nextInt(20000);
+                    long entry = cache.get(key);
+                    if (entry == EvaluationCache.MISS) {
+                        cache.put(key, EvaluationCache.entry((int) key, (int) -key));
+                    } else if (EvaluationCache.move(entry) != key || EvaluationCache.score(entry) != -key) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, wrong.get());
+        assertEquals(32 * 100000L, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    public void testCachedStrategySharesAnswersPerNamespace() {
+        final AtomicInteger searches = new AtomicInteger();
+        MoveStrategy firstEmpty = (board, mark) -> {
+            searches.incrementAndGet();
+            return board.nextEmptyCell(0);
+        };
+        EvaluationCache cache = new EvaluationCache(1 << 16);
+        MoveStrategy player1 = new CachedStrategy(firstEmpty, "first-empty", cache);
+        MoveStrategy player2 = new CachedStrategy(firstEmpty, "first-empty", cache);
+        MoveStrategy other = new CachedStrategy(firstEmpty, "other", cache);
+
+        Board board = new Board();
+        board.setMark(4, Mark.X);
+        assertEquals(0, player1.chooseMove(board, Mark.O));
+        assertEquals(0, player2.chooseMove(board, Mark.O));
+        assertEquals(1, searches.get());
+        other.chooseMove(board, Mark.O);
+        assertEquals(2, searches.get());
+        // same marks on another board size or for the other side are new positions
+        MnkBoard mnk = new MnkBoard(3, 4, 3);
+        mnk.setMark(4, Mark.X);
+        player1.chooseMove(mnk, Mark.O);
+        player1.chooseMove(board, Mark.X);
+        assertEquals(4, searches.get());
+        assertEquals(EvaluationCache.NO_SCORE, ((CachedStrategy) player1).getLastScore());
+    }
+
+    public void testCachedStrategyKeepsTheSearchedScore() {
+        NegamaxStrategy negamax = new NegamaxStrategy(new TranspositionTable(1 << 12));
+        EvaluationCache cache = new EvaluationCache(1 << 16);
+        CachedStrategy first = new CachedStrategy(negamax, "negamax", cache);
+        CachedStrategy second = new CachedStrategy(negamax, "negamax", cache);
+
+        // X wins at once on the top row
+        Board board = new Board();
+        board.setMark(0, Mark.X);
+        board.setMark(1, Mark.X);
+        board.setMark(3, Mark.O);
+        board.setMark(4, Mark.O);
+        assertEquals(2, first.chooseMove(board, Mark.X));
+        assertTrue(first.getLastScore() > 0);
+        assertEquals(negamax.getLastScore(), first.getLastScore());
+        assertEquals(2, second.chooseMove(board, Mark.X));
+        assertEquals(first.getLastScore(), second.getLastScore());
+        assertEquals(1, cache.getHits());
+    }
+
+    public void testCachedStrategyKeepsScoresOfAnyScoredStrategy() {
+        ScoredStrategy scored = new ScoredStrategy() {
+            @Override
+            public int chooseMove(GameBoard board, Mark mark) {
+                return board.nextEmptyCell(0);
+            }
+
+            @Override
+            public int getLastScore() {
+                return 42;
+            }
+        };
+        EvaluationCache cache = new EvaluationCache(1 << 16);
+        CachedStrategy cached = new CachedStrategy(scored, "scored", cache);
+        cached.chooseMove(new Board(), Mark.X);
+        assertEquals(42, cached.getLastScore());
+        CachedStrategy other = new CachedStrategy(scored, "scored", cache);
+        other.chooseMove(new Board(), Mark.X);
+        assertEquals(1, cache.getHits());
+        assertEquals(42, other.getLastScore());
+    }
+
+}
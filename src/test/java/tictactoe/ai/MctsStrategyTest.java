@@ -0,0 +1,81 @@
+package tictactoe.ai;
+
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+
+public class MctsStrategyTest extends TestCase {
+
+    private static void play(GameBoard board, Mark mark, int row, int col) {
+        board.setMark(new Coordinate(row, col), mark);
+    }
+
+    public void testTakesTheWinAndLeavesTheBoardUntouched() {
+        Board board = new Board();
+        play(board, Mark.X, 1, 0);
+        play(board, Mark.X, 1, 1);
+        play(board, Mark.O, 0, 0);
+        play(board, Mark.O, 2, 2);
+        long hash = board.getHash();
+        MctsStrategy strategy = new MctsStrategy(20_000);
+        assertEquals(5, strategy.chooseMove(board, Mark.X));
+        assertEquals(hash, board.getHash());
+        assertEquals(4, board.getMoveCount());
+        assertTrue(strategy.getLastPlayouts() >= 20_000);
+    }
+
+    public void testParallelSearchBlocksOnLargerBoards() {
+        MnkBoard board = new MnkBoard(6, 6, 4);
+        play(board, Mark.X, 3, 1);
+        play(board, Mark.X, 3, 2);
+        play(board, Mark.X, 3, 3);
+        play(board, Mark.O, 3, 0);
+        play(board, Mark.O, 0, 0);
+        MctsStrategy strategy = new MctsStrategy(0, 40_000, 4, 1 << 20);
+        assertEquals(3 * 6 + 4, strategy.chooseMove(board, Mark.O));
+        assertTrue(strategy.getLastNodes() > 1);
+        assertTrue(strategy.getPlayoutsPerSecond() > 0);
+    }
+
+    public void testTimeBudget() {
+        MctsStrategy strategy = new MctsStrategy(50, 0, 2, 1 << 18);
+        GameBoard board = new MnkBoard(9, 9, 5);
+        int move = strategy.chooseMove(board, Mark.X);
+        assertTrue(board.isEmpty(move));
+        assertTrue(strategy.getLastElapsedNanos() >= 50_000_000L);
+    }
+
+    public void testSeededSearchRepeats() {
+        MnkBoard board = new MnkBoard(5, 5, 4);
+        play(board, Mark.X, 2, 2);
+        int first = new MctsStrategy(300, 11).chooseMove(board, Mark.O);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(first, new MctsStrategy(300, 11).chooseMove(board, Mark.O));
+        }
+    }
+
+    public void testFallsBackToALegalMoveWithoutATree() {
+        // four nodes cannot hold the 80 children of the root
+        MctsStrategy strategy = new MctsStrategy(0, 10, 1, 4);
+        MnkBoard board = new MnkBoard(9, 9, 5);
+        play(board, Mark.X, 0, 0);
+        assertEquals(1, strategy.chooseMove(board, Mark.O));
+    }
+
+    public void testInterruptStopsEveryThread() {
+        MctsStrategy strategy = new MctsStrategy(10_000, 0, 4, 1 << 16);
+        GameBoard board = new MnkBoard(9, 9, 5);
+        Thread.currentThread().interrupt();
+        try {
+            int move = strategy.chooseMove(board, Mark.X);
+            assertTrue(board.isEmpty(move));
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertTrue(strategy.getLastElapsedNanos() < 5_000_000_000L);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tictactoe.ai;
+
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+
+public class NegamaxStrategyTest extends TestCase {
+
+    private static void play(GameBoard board, Mark mark, int row, int col) {
+        board.setMark(new Coordinate(row, col), mark);
+    }
+
+    public void testPerfectPlayIsATie() {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        NegamaxStrategy strategy = new NegamaxStrategy(table);
+        Board board = new Board();
+        Mark mark = Mark.X;
+        long hash = board.getHash();
+        while (!board.isGameOver()) {
+            int cell = strategy.chooseMove(board, mark);
+            assertEquals("search must leave the board untouched", hash, board.getHash());
+            assertEquals(0, strategy.getLastScore());
+            board.placeMark(cell, mark);
+            hash = board.getHash();
+            mark = mark.opponent();
+        }
+        assertFalse(board.hasWinner());
+        assertTrue(strategy.getNodesPerSecond() > 0);
+    }
+
+    public void testTakesTheWin() {
+        Board board = new Board();
+        play(board, Mark.O, 0, 0);
+        play(board, Mark.O, 0, 1);
+        play(board, Mark.X, 1, 1);
+        play(board, Mark.X, 2, 2);
+        NegamaxStrategy strategy = new NegamaxStrategy(new TranspositionTable(1 << 10));
+        assertEquals(2, strategy.chooseMove(board, Mark.O));
+        assertTrue(strategy.getLastScore() > 0);
+    }
+
+    public void testBlocksTheThreatOnLargerBoards() {
+        MnkBoard board = new MnkBoard(5, 5, 4);
+        play(board, Mark.X, 2, 0);
+        play(board, Mark.X, 2, 1);
+        play(board, Mark.X, 2, 2);
+        play(board, Mark.O, 0, 0);
+        play(board, Mark.O, 4, 4);
+        NegamaxStrategy strategy = new NegamaxStrategy(new TranspositionTable(1 << 16), 4);
+        assertEquals(2 * 5 + 3, strategy.chooseMove(board, Mark.O));
+        assertEquals(5, board.getMoveCount());
+    }
+}
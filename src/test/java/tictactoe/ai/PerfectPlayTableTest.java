@@ -0,0 +1,46 @@
+package tictactoe.ai;
+
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+
+public class PerfectPlayTableTest extends TestCase {
+
+    public void testEmptyBoardIsADraw() {
+        PerfectPlayTable table = PerfectPlayTable.getInstance();
+        assertEquals(PerfectPlayTable.DRAW, table.value(new Board(), Mark.X));
+        assertEquals(PerfectPlayTable.DRAW, table.value(new Board(), Mark.O));
+    }
+
+    public void testResourceMatchesSolvedTable() {
+        PerfectPlayTable loaded = PerfectPlayTable.getInstance();
+        PerfectPlayTable solved = PerfectPlayTable.solve();
+        for (int encoding = 0; encoding < Board.ENCODINGS; encoding++) {
+            for (Mark mark : new Mark[] { Mark.X, Mark.O }) {
+                assertEquals(solved.value(encoding, mark), loaded.value(encoding, mark));
+                assertEquals(solved.bestMove(encoding, mark), loaded.bestMove(encoding, mark));
+            }
+        }
+    }
+
+    public void testAgreesWithNegamaxAlongPerfectGames() {
+        PerfectPlayStrategy perfect = new PerfectPlayStrategy();
+        NegamaxStrategy negamax = new NegamaxStrategy(new TranspositionTable(1 << 12));
+        for (int opening = 0; opening < 9; opening++) {
+            Board board = new Board();
+            board.placeMark(opening, Mark.O);
+            Mark mark = Mark.X;
+            while (!board.isGameOver()) {
+                int move = perfect.chooseMove(board, mark);
+                int value = PerfectPlayTable.getInstance().value(board, mark);
+                negamax.chooseMove(board, mark);
+                int score = negamax.getLastScore();
+                assertEquals(value, score > 0 ? PerfectPlayTable.WIN : score < 0 ? PerfectPlayTable.LOSS
+                        : PerfectPlayTable.DRAW);
+                board.placeMark(move, mark);
+                mark = mark.opponent();
+            }
+            assertFalse(board.hasWinner());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package tictactoe.ai;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+
+public class RetrogradeSolverTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("endgame", ".bin");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Plain minimax over the board, with the distance rule of the table
+     * 
+     * @return value * 100 + distance
+     */
+    private static int solve(GameBoard board, Mark toMove) {
+        if (board.hasWinner()) {
+            return PerfectPlayTable.LOSS * 100;
+        }
+        if (board.isBoardFull()) {
+            return PerfectPlayTable.DRAW * 100;
+        }
+        int fastestWin = Integer.MAX_VALUE;
+        int slowestLoss = -1;
+        boolean draw = false;
+        for (int cell = board.nextEmptyCell(0); cell >= 0; cell = board.nextEmptyCell(cell + 1)) {
+            board.placeMark(cell, toMove);
+            int child = solve(board, toMove.opponent());
+            board.clearMark(cell);
+            if (child / 100 == PerfectPlayTable.LOSS) {
+                fastestWin = Math.min(fastestWin, child % 100 + 1);
+            } else if (child / 100 == PerfectPlayTable.DRAW) {
+                draw = true;
+            } else {
+                slowestLoss = Math.max(slowestLoss, child % 100 + 1);
+            }
+        }
+        if (fastestWin != Integer.MAX_VALUE) {
+            return PerfectPlayTable.WIN * 100 + fastestWin;
+        }
+        int left = board.getRows() * board.getCols() - board.getMoveCount();
+        return draw ? PerfectPlayTable.DRAW * 100 + left : PerfectPlayTable.LOSS * 100 + slowestLoss;
+    }
+
+    public void testThreeByThreeMatchesThePerfectPlayTable() throws IOException {
+        try (EndgameTable table = new RetrogradeSolver(3, 3, 3).solve(file, 2)) {
+            PerfectPlayTable perfect = PerfectPlayTable.getInstance();
+            SplittableRandom random = new SplittableRandom(2);
+            for (int game = 0; game < 300; game++) {
+                Board board = new Board();
+                Mark mark = random.nextBoolean() ? Mark.X : Mark.O;
+                while (true) {
+                    assertEquals(perfect.value(board, mark), table.value(board, mark));
+                    if (board.isGameOver()) {
+                        break;
+                    }
+                    int skip = random.nextInt(9 - board.getMoveCount());
+                    int cell = board.nextEmptyCell(0);
+                    while (skip-- > 0) {
+                        cell = board.nextEmptyCell(cell + 1);
+                    }
+                    board.placeMark(cell, mark);
+                    mark = mark.opponent();
+                }
+            }
+            assertEquals(9, table.distance(new Board(), Mark.X));
+        }
+    }
+
+    public void testAgreesWithMinimaxOnALargerBoard() throws IOException {
+        try (EndgameTable solved = new RetrogradeSolver(3, 4, 3).solve(file, 4);
+                EndgameTable table = EndgameTable.open(file)) {
+            assertEquals(PerfectPlayTable.WIN, solved.value(0, 0, Mark.X));
+            // the reopened file holds the same table
+            assertEquals(solved.value(0, 0, Mark.X), table.value(0, 0, Mark.X));
+            assertEquals(solved.distance(0, 0, Mark.X), table.distance(0, 0, Mark.X));
+            SplittableRandom random = new SplittableRandom(3);
+            for (int position = 0; position < 200; position++) {
+                MnkBoard board = new MnkBoard(3, 4, 3);
+                Mark mark = random.nextBoolean() ? Mark.X : Mark.O;
+                int moves = 3 + random.nextInt(6);
+                for (int i = 0; i < moves && !board.isGameOver(); i++) {
+                    int cell;
+                    do {
+                        cell = random.nextInt(12);
+                    } while (!board.isEmpty(cell));
+                    board.placeMark(cell, mark);
+                    mark = mark.opponent();
+                }
+                int expected = solve(board, mark);
+                assertEquals(expected / 100, table.value(board, mark));
+                assertEquals(expected % 100, table.distance(board, mark));
+                if (!board.isGameOver()) {
+                    board.placeMark(new EndgameStrategy(table).chooseMove(board, mark), mark);
+                    int child = solve(board, mark.opponent());
+                    // the best move keeps the value and spends one move
+                    assertEquals(expected % 100, child % 100 + 1);
+                }
+            }
+        }
+    }
+
+    public void testRejectsBoardsTooLargeToTabulate() {
+        try {
+            new RetrogradeSolver(5, 5, 4);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("16"));
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package tictactoe.analytics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+import tictactoe.record.GameLog;
+import tictactoe.record.GameLogReader;
+import tictactoe.record.GameLogWriter;
+
+public class GameLogAnalyticsTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("games", ".log");
+        Files.delete(file);
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    public void testParallelChunksMatchASequentialPass() throws IOException {
+        GameLogStatistics expected = new GameLogStatistics();
+        SplittableRandom random = new SplittableRandom(3);
+        int[] moves = new int[GameLog.MAX_MOVES];
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            for (int game = 0; game < 200_000; game++) {
+                Mark first = random.nextBoolean() ? Mark.X : Mark.O;
+                Board board = new Board();
+                Mark toMove = first;
+                int count = 0;
+                while (!board.isGameOver()) {
+                    int cell;
+                    do {
+                        cell = random.nextInt(9);
+                    } while (!board.isEmpty(cell));
+                    board.placeMark(cell, toMove);
+                    moves[count++] = cell;
+                    toMove = toMove.opponent();
+                }
+                int outcome = GameLog.outcome(board.getWinner(), true);
+                writer.append(first, moves, count, outcome);
+                expected.visit(first, outcome, moves, count);
+            }
+        }
+
+        GameLogStatistics actual;
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertTrue(reader.getBlockCount() > 8);
+            actual = GameLogAnalytics.analyze(reader, 1, true);
+            GameLogStatistics sequential = GameLogAnalytics.analyze(reader, 3, false);
+            assertEquals(expected.getGames(), sequential.getGames());
+        }
+
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getAverageLength(), actual.getAverageLength(), 1e-9);
+        for (int square = 0; square < 9; square++) {
+            for (int outcome = 0; outcome < 4; outcome++) {
+                assertEquals(expected.getGamesByOpening(square, outcome), actual.getGamesByOpening(square, outcome));
+            }
+            assertEquals(expected.getOpeningWinRate(square), actual.getOpeningWinRate(square), 1e-12);
+        }
+        assertEquals(expected.getGamesByFirstPlayer(Mark.O, GameLog.TIE),
+                actual.getGamesByFirstPlayer(Mark.O, GameLog.TIE));
+
+        long[] top = actual.getMostCommonLosingLines(5);
+        assertEquals(5, top.length);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(expected.getLosingLineCount(top[i]), actual.getLosingLineCount(top[i]));
+            if (i > 0) {
+                assertTrue(actual.getLosingLineCount(top[i - 1]) >= actual.getLosingLineCount(top[i]));
+            }
+            assertTrue(GameLogStatistics.unpackLine(top[i]).length >= 5);
+        }
+    }
+
+    public void testSplitsCoverEveryChunkOnce() {
+        BlockRangeSpliterator chunks = new BlockRangeSpliterator(0, 101, 4);
+        assertEquals(26, chunks.estimateSize());
+        BlockRangeSpliterator prefix = (BlockRangeSpliterator) chunks.trySplit();
+        long[] covered = new long[1];
+        prefix.forEachRemaining((long start) -> covered[0] += chunks.chunkEnd(start) - start);
+        chunks.forEachRemaining((long start) -> covered[0] += chunks.chunkEnd(start) - start);
+        assertEquals(101, covered[0]);
+    }
+
+
+    public void testTopKeys() {
+        LongCountMap counts = new LongCountMap();
+        for (long key = 1; key <= 5; key++) {
+            counts.add(key, key * 10);
+        }
+        assertEquals(0, counts.topKeys(0).length);
+        assertEquals(0, counts.topKeys(-1).length);
+        assertEquals(0, new LongCountMap().topKeys(3).length);
+        long[] top = counts.topKeys(2);
+        assertEquals(2, top.length);
+        assertEquals(5, top[0]);
+        assertEquals(4, top[1]);
+        assertEquals(5, counts.topKeys(10).length);
+    }
+}
@@ -0,0 +1,80 @@
+package tictactoe.board;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import junit.framework.TestCase;
+
+public class BoardClassifierTest extends TestCase {
+
+    /**
+     * Every placement of X and O marks on the 3x3 board, 3^9 of them
+     */
+    private static int[] allPositions() {
+        int[] positions = new int[Board.ENCODINGS];
+        int n = 0;
+        for (int x = 0; x < 512; x++) {
+            for (int o = 0; o < 512; o++) {
+                if ((x & o) == 0) {
+                    positions[n++] = BoardClassifier.pack(x, o);
+                }
+            }
+        }
+        assertEquals(positions.length, n);
+        return positions;
+    }
+
+    private static int expected(int position) {
+        int x = position & 511;
+        int o = position >>> 16;
+        if (Board.isWinningMask(x)) {
+            return BoardClassifier.X_WINS;
+        }
+        if (Board.isWinningMask(o)) {
+            return BoardClassifier.O_WINS;
+        }
+        return (x | o) == 511 ? BoardClassifier.DRAW : BoardClassifier.ONGOING;
+    }
+
+    public void testMatchesBoardOnEveryPosition() {
+        int[] positions = allPositions();
+        byte[] outcomes = new byte[positions.length];
+        BoardClassifier.classify(positions, outcomes);
+        byte[] parallel = new byte[positions.length];
+        BoardClassifier.classifyParallel(positions, parallel);
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(expected(positions[i]), outcomes[i]);
+            assertEquals(outcomes[i], parallel[i]);
+        }
+    }
+
+    public void testPacksPlayedBoards() {
+        Board board = new Board();
+        int[] moves = { 0, 3, 1, 4, 2 };
+        Mark mark = Mark.X;
+        for (int cell : moves) {
+            assertEquals(BoardClassifier.ONGOING, BoardClassifier.classify(BoardClassifier.pack(board)));
+            board.setMark(cell, mark);
+            mark = mark.opponent();
+        }
+        assertEquals(BoardClassifier.X_WINS, BoardClassifier.classify(BoardClassifier.pack(board)));
+    }
+
+    public void testReadsByteBuffers() {
+        int[] positions = allPositions();
+        // more than one chunk, starting past the beginning of the buffer
+        int count = BoardClassifier.CHUNK + positions.length;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4 + count * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(-1);
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(positions[i % positions.length]);
+        }
+        buffer.flip().position(4);
+        byte[] outcomes = new byte[count + 1];
+        assertEquals(count, BoardClassifier.classify(buffer, outcomes, 1));
+        assertFalse(buffer.hasRemaining());
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected(positions[i % positions.length]), outcomes[i + 1]);
+        }
+    }
+
+}
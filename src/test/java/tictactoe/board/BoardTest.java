@@ -0,0 +1,135 @@
+package tictactoe.board;
+
+import junit.framework.TestCase;
+
+public class BoardTest extends TestCase {
+
+    private static void play(Board board, Mark mark, int row, int col) {
+        board.setMark(new Coordinate(row, col), mark);
+    }
+
+    public void testEmptyBoard() {
+        Board board = new Board();
+        assertFalse(board.hasWinner());
+        assertFalse(board.isGameOver());
+        assertNull(board.getWinner());
+        assertEquals(Mark.EMPTY, board.getBoard()[1][1]);
+    }
+
+    public void testRowColumnAndDiagonalWins() {
+        for (int i = 0; i < 3; i++) {
+            Board rows = new Board();
+            Board cols = new Board();
+            for (int j = 0; j < 3; j++) {
+                play(rows, Mark.X, i, j);
+                play(cols, Mark.O, j, i);
+            }
+            assertEquals(Mark.X, rows.getWinner());
+            assertEquals(Mark.O, cols.getWinner());
+        }
+
+        Board diagonal = new Board();
+        Board antiDiagonal = new Board();
+        for (int i = 0; i < 3; i++) {
+            play(diagonal, Mark.O, i, i);
+            play(antiDiagonal, Mark.X, i, 2 - i);
+        }
+        assertTrue(diagonal.isGameOver());
+        assertEquals(Mark.O, diagonal.getWinner());
+        assertEquals(Mark.X, antiDiagonal.getWinner());
+    }
+
+    public void testTie() {
+        Board board = new Board();
+        // X O X / X O O / O X X
+        Mark[] marks = { Mark.X, Mark.O, Mark.X, Mark.X, Mark.O, Mark.O, Mark.O, Mark.X, Mark.X };
+        for (int cell = 0; cell < marks.length; cell++) {
+            assertFalse(board.isGameOver());
+            play(board, marks[cell], cell / 3, cell % 3);
+        }
+        assertTrue(board.isGameOver());
+        assertFalse(board.hasWinner());
+        assertNull(board.getWinner());
+    }
+
+    public void testRejectsInvalidMoves() {
+        Board board = new Board();
+        play(board, Mark.X, 0, 0);
+        try {
+            play(board, Mark.O, 0, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Square already taken", e.getMessage());
+        }
+        try {
+            play(board, Mark.O, 3, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Invalid row or column", e.getMessage());
+        }
+    }
+
+    public void testGetBoardIsACopy() {
+        Board board = new Board();
+        board.getBoard()[0][0] = Mark.X;
+        assertEquals(Mark.EMPTY, board.getMark(0, 0));
+    }
+
+    public void testMoveCountAndFirstWinnerAreTracked() {
+        Board board = new Board();
+        play(board, Mark.X, 0, 0);
+        play(board, Mark.X, 0, 1);
+        assertEquals(2, board.getMoveCount());
+        play(board, Mark.X, 0, 2);
+        assertEquals(Mark.X, board.getWinner());
+        play(board, Mark.O, 1, 0);
+        play(board, Mark.O, 1, 1);
+        play(board, Mark.O, 1, 2);
+        assertEquals(Mark.X, board.getWinner());
+        assertEquals(6, board.getMoveCount());
+    }
+
+    public void testUndoAndRedoRestoreThePosition() {
+        Board board = new Board();
+        play(board, Mark.X, 0, 0);
+        play(board, Mark.O, 1, 1);
+        play(board, Mark.X, 0, 1);
+        long hash = board.getHash();
+        play(board, Mark.O, 2, 2);
+        play(board, Mark.X, 0, 2);
+        assertEquals(Mark.X, board.getWinner());
+
+        assertEquals(2, board.undoMove());
+        assertEquals(8, board.undoMove());
+        assertNull(board.getWinner());
+        assertEquals(3, board.getMoveCount());
+        assertEquals(hash, board.getHash());
+
+        assertEquals(8, board.redoMove());
+        assertEquals(2, board.redoMove());
+        assertEquals(-1, board.redoMove());
+        assertEquals(Mark.X, board.getWinner());
+        assertEquals(Mark.O, board.getMark(2, 2));
+
+        board.undoMove();
+        play(board, Mark.X, 1, 0);
+        assertEquals(-1, board.redoMove());
+        assertEquals(3, board.getMove(4));
+
+        while (board.undoMove() >= 0) {
+        }
+        assertEquals(0, board.getMoveCount());
+        assertEquals(0, board.getHash());
+    }
+
+    public void testViewFollowsTheBoardWithoutExposingIt() {
+        Board board = new Board();
+        BoardView view = board.view();
+        assertSame(view, board.view());
+        assertFalse(view instanceof GameBoard);
+        play(board, Mark.X, 2, 1);
+        assertEquals(Mark.X, view.getMark(2, 1));
+        assertEquals(1, view.getMoveCount());
+        assertEquals(7, view.getMove(0));
+    }
+}
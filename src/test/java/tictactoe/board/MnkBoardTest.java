@@ -0,0 +1,95 @@
+package tictactoe.board;
+
+import junit.framework.TestCase;
+
+public class MnkBoardTest extends TestCase {
+
+    private static void play(GameBoard board, Mark mark, int row, int col) {
+        board.setMark(new Coordinate(row, col), mark);
+    }
+
+    public void testGomokuWinsInEveryDirection() {
+        int[][] steps = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+        for (int[] step : steps) {
+            MnkBoard board = new MnkBoard(19, 19, 5);
+            // out of order so the winning move lands in the middle of the run
+            int[] order = { 0, 1, 3, 4, 2 };
+            for (int n = 0; n < order.length; n++) {
+                assertFalse(board.hasWinner());
+                play(board, Mark.O, 9 + order[n] * step[0], 9 + order[n] * step[1]);
+            }
+            assertEquals(Mark.O, board.getWinner());
+            assertTrue(board.isGameOver());
+        }
+    }
+
+    public void testBrokenRunDoesNotWin() {
+        MnkBoard board = new MnkBoard(15, 15, 5);
+        play(board, Mark.X, 7, 0);
+        play(board, Mark.X, 7, 1);
+        play(board, Mark.O, 7, 2);
+        for (int col = 3; col < 7; col++) {
+            play(board, Mark.X, 7, col);
+            assertFalse(board.hasWinner());
+        }
+        play(board, Mark.X, 7, 7);
+        assertEquals(Mark.X, board.getWinner());
+    }
+
+    public void testMatchesBoardOnThreeByThree() {
+        // X O X / X O O / O X X is a tie; then a fresh game where X wins on a column
+        int[] cells = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        Mark[] marks = { Mark.X, Mark.O, Mark.X, Mark.X, Mark.O, Mark.O, Mark.O, Mark.X, Mark.X };
+        GameBoard board = new Board();
+        GameBoard mnk = new MnkBoard(3, 3, 3);
+        for (int cell : cells) {
+            play(board, marks[cell], cell / 3, cell % 3);
+            play(mnk, marks[cell], cell / 3, cell % 3);
+            assertEquals(board.isGameOver(), mnk.isGameOver());
+            assertEquals(board.getWinner(), mnk.getWinner());
+        }
+        assertTrue(mnk.isBoardFull());
+    }
+
+    public void testRejectsInvalidMoves() {
+        MnkBoard board = new MnkBoard(4, 6, 3);
+        play(board, Mark.X, 3, 5);
+        try {
+            play(board, Mark.O, 3, 5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Square already taken", e.getMessage());
+        }
+        try {
+            play(board, Mark.O, 4, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Invalid row or column", e.getMessage());
+        }
+    }
+
+    public void testCellMovesAndLegalMoveIteration() {
+        for (GameBoard board : new GameBoard[] { new Board(), new MnkBoard(5, 64, 4) }) {
+            int cells = board.getRows() * board.getCols();
+            board.setMark(0, Mark.X);
+            board.setMark(cells - 1, Mark.O);
+            board.setMark(board.getCols() + 1, Mark.X);
+            try {
+                board.setMark(cells, Mark.O);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("Invalid row or column", e.getMessage());
+            }
+            int legal = 0;
+            for (int cell = board.nextEmptyCell(0); cell >= 0; cell = board.nextEmptyCell(cell + 1)) {
+                assertTrue(board.isEmpty(cell));
+                legal++;
+            }
+            assertEquals(cells - 3, legal);
+            assertEquals(1, board.nextEmptyCell(0));
+            assertEquals(-1, board.nextEmptyCell(cells - 1));
+        }
+        assertSame(Coordinate.of(2, 63), Coordinate.ofCell(2 * 64 + 63, 64));
+        assertEquals(-1, Coordinate.of(-1, 0).getRow());
+    }
+}
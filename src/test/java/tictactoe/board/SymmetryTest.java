@@ -0,0 +1,42 @@
+package tictactoe.board;
+
+import junit.framework.TestCase;
+
+public class SymmetryTest extends TestCase {
+
+    public void testCornersShareCanonicalForm() {
+        int canonical = Symmetry.canonical(Symmetry.pack(1, 0));
+        for (int corner : new int[] { 2, 6, 8 }) {
+            assertEquals(canonical, Symmetry.canonical(Symmetry.pack(1 << corner, 0)));
+        }
+        assertFalse(canonical == Symmetry.canonical(Symmetry.pack(1 << 4, 0)));
+    }
+
+    public void testTransformsAreDistinctAndInvertible() {
+        // an asymmetric position: X at 0 and 1, O at 5
+        int packed = Symmetry.pack(0b000_000_011, 0b000_100_000);
+        java.util.Set<Integer> images = new java.util.HashSet<Integer>();
+        for (int t = 0; t < Symmetry.TRANSFORMS; t++) {
+            int image = Symmetry.transform(packed, t);
+            images.add(image);
+            assertEquals(packed, Symmetry.transform(image, Symmetry.inverse(t)));
+            assertEquals(Symmetry.canonical(packed), Symmetry.canonical(image));
+            for (int cell = 0; cell < 9; cell++) {
+                assertEquals(cell, Symmetry.unmapCell(Symmetry.mapCell(cell, t), t));
+            }
+        }
+        assertEquals(Symmetry.TRANSFORMS, images.size());
+    }
+
+    public void testMovesMapBackFromCanonicalOrientation() {
+        Board board = new Board();
+        board.setMark(new Coordinate(2, 2), Mark.X);
+        int packed = Symmetry.pack(board);
+        int t = Symmetry.canonicalTransform(packed);
+        int canonical = Symmetry.transform(packed, t);
+        // X's square on the canonical board maps back to its square on the real one
+        int canonicalX = Integer.numberOfTrailingZeros(Symmetry.xMask(canonical));
+        assertEquals(8, Symmetry.unmapCell(canonicalX, t));
+        assertEquals(canonicalX, Symmetry.mapCell(8, t));
+    }
+}
@@ -0,0 +1,144 @@
+package tictactoe.board;
+
+import java.util.SplittableRandom;
+import junit.framework.TestCase;
+import tictactoe.ai.NegamaxStrategy;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.ai.TranspositionTable;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+import tictactoe.turns.Turn;
+
+public class UltimateBoardTest extends TestCase {
+
+    private static int cell(int sub, int local) {
+        return ((sub / 3) * 3 + local / 3) * UltimateBoard.SIZE + (sub % 3) * 3 + local % 3;
+    }
+
+    public void testMoveSendsOpponentToMatchingSubBoard() {
+        UltimateBoard board = new UltimateBoard();
+        assertEquals(-1, board.getForcedBoard());
+        assertEquals(81, board.getLegalMoveCount());
+
+        board.setMark(cell(4, 2), Mark.X);
+        assertEquals(2, board.getForcedBoard());
+        assertEquals(9, board.getLegalMoveCount());
+        assertEquals(BoardView.WRONG_BOARD, board.checkMove(cell(0, 0)));
+        assertEquals(BoardView.SQUARE_TAKEN, board.checkMove(cell(4, 2)));
+        assertEquals(BoardView.INVALID_SQUARE, board.checkMove(81));
+        assertEquals(BoardView.VALID_MOVE, board.checkMove(cell(2, 4)));
+        try {
+            board.setMark(cell(0, 0), Mark.O);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(BoardView.describe(BoardView.WRONG_BOARD), e.getMessage());
+        }
+        int legal = 0;
+        for (int c = board.nextEmptyCell(0); c >= 0; c = board.nextEmptyCell(c + 1)) {
+            assertEquals(2, c / 27 * 3 + c % 9 / 3);
+            legal++;
+        }
+        assertEquals(9, legal);
+    }
+
+    public void testSubBoardWinsDecideTheGame() {
+        UltimateBoard board = new UltimateBoard();
+        // X takes the top row of sub-boards 0, 1 and 2; O answers in sub-board 8
+        int[] oLocals = { 0, 1, 3, 4, 6, 7, 2, 5 };
+        int o = 0;
+        for (int sub = 0; sub < 3; sub++) {
+            for (int local = 0; local < 3; local++) {
+                assertFalse(board.isGameOver());
+                board.placeMark(cell(sub, local), Mark.X);
+                if (board.isGameOver()) {
+                    break;
+                }
+                board.placeMark(cell(8, oLocals[o++]), Mark.O);
+            }
+            assertEquals(Mark.X, board.getSubBoardWinner(sub));
+        }
+        assertEquals(Mark.X, board.getWinner());
+        assertEquals(7, board.getMetaMask(Mark.X));
+        assertEquals(0, board.getLegalMoveCount());
+        assertTrue(board.getSubBoard(1).hasWinner());
+
+        // taking back the winning move reopens the game and the sub-board,
+        // and X is sent again where the last O move pointed
+        board.undoMove();
+        assertFalse(board.isGameOver());
+        assertNull(board.getSubBoardWinner(2));
+        assertEquals(5, board.getForcedBoard());
+        assertEquals(BoardView.WRONG_BOARD, board.checkMove(cell(2, 2)));
+    }
+
+    public void testClosedSubBoardFreesTheNextMove() {
+        UltimateBoard board = new UltimateBoard();
+        board.placeMark(cell(4, 0), Mark.X);
+        board.placeMark(cell(4, 1), Mark.X);
+        board.placeMark(cell(4, 2), Mark.X);
+        assertEquals(Mark.X, board.getSubBoardWinner(4));
+        // the move sends O to the won sub-board 4, so any open sub-board is allowed
+        board.placeMark(cell(0, 4), Mark.X);
+        assertEquals(-1, board.getForcedBoard());
+        assertEquals(81 - 9 - 1, board.getLegalMoveCount());
+        assertEquals(BoardView.WRONG_BOARD, board.checkMove(cell(4, 5)));
+    }
+
+    public void testUndoRestoresForcedBoardAndHash() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int game = 0; game < 50; game++) {
+            UltimateBoard board = new UltimateBoard();
+            long[] hashes = new long[82];
+            int[] forced = new int[82];
+            long[] legal = new long[82];
+            Mark toMove = Mark.X;
+            int plies = 0;
+            while (!board.isGameOver()) {
+                hashes[plies] = board.getHash();
+                forced[plies] = board.getForcedBoard();
+                legal[plies] = board.getLegalMovesLow() ^ board.getLegalMovesHigh() * 31;
+                int skip = random.nextInt(board.getLegalMoveCount());
+                int c = board.nextEmptyCell(0);
+                while (skip-- > 0) {
+                    c = board.nextEmptyCell(c + 1);
+                }
+                assertEquals(BoardView.VALID_MOVE, board.checkMove(c));
+                board.placeMark(c, toMove);
+                toMove = toMove.opponent();
+                plies++;
+            }
+            UltimateBoard copy = board.copy();
+            for (int ply = plies - 1; ply >= 0; ply--) {
+                board.undoMove();
+                assertEquals(hashes[ply], board.getHash());
+                assertEquals(forced[ply], board.getForcedBoard());
+                assertEquals(legal[ply], board.getLegalMovesLow() ^ board.getLegalMovesHigh() * 31);
+                assertFalse(board.isGameOver());
+            }
+            while (board.redoMove() >= 0) {
+            }
+            assertEquals(copy.getHash(), board.getHash());
+            assertEquals(copy.getWinner(), board.getWinner());
+        }
+    }
+
+    public void testStrategiesOnlyPlayLegalMoves() {
+        final int[] rejected = new int[1];
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void moveRejected(Player player, Coordinate coordinate, String reason) {
+                rejected[0]++;
+            }
+        };
+        Player x = new Player(Mark.X, "X", new RandomMoveStrategy(1));
+        Player o = new Player(Mark.O, "O", new NegamaxStrategy(new TranspositionTable(1 << 12), 2));
+        UltimateBoard board = new UltimateBoard();
+        for (int game = 0; game < 5; game++) {
+            board.reset();
+            new Turn(x, o, board, observer, new SplittableRandom(game)).play();
+            assertTrue(board.isGameOver());
+        }
+        assertEquals(0, rejected[0]);
+    }
+
+}
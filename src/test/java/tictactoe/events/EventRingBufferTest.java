@@ -0,0 +1,242 @@
+package tictactoe.events;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+import tictactoe.Game;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+public class EventRingBufferTest extends TestCase {
+
+    /**
+     * Counts callbacks per event type, and checks the boards it is shown
+     */
+    private static class CountingObserver implements GameObserver {
+        final int[] counts = new int[GameEvent.GAME_TIED + 1];
+        int inconsistentBoards;
+        int resumedMoves = -1;
+
+        @Override
+        public void gameStarted() {
+            counts[GameEvent.GAME_STARTED]++;
+        }
+
+        @Override
+        public void gameResumed(Player player, BoardView board) {
+            resumedMoves = board.getMoveCount();
+        }
+
+        @Override
+        public void firstPlayerChosen(Player player) {
+            counts[GameEvent.FIRST_PLAYER_CHOSEN]++;
+        }
+
+        @Override
+        public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+            counts[GameEvent.MOVE_PLAYED]++;
+            if (board.getMark(coordinate.getRow(), coordinate.getCol()) != player.getMark()) {
+                inconsistentBoards++;
+            }
+        }
+
+        @Override
+        public void moveRejected(Player player, Coordinate coordinate, String reason) {
+            counts[GameEvent.MOVE_REJECTED]++;
+        }
+
+        @Override
+        public void gameWon(Player winner) {
+            counts[GameEvent.GAME_WON]++;
+        }
+
+        @Override
+        public void gameTied() {
+            counts[GameEvent.GAME_TIED]++;
+        }
+    }
+
+    public void testConsumersSeeEveryEventOfTheGameLoop() throws InterruptedException {
+        EventRingBuffer ring = new EventRingBuffer(1 << 16);
+        CountingObserver replayed = new CountingObserver();
+        AtomicInteger batches = new AtomicInteger();
+        AtomicInteger events = new AtomicInteger();
+        EventProcessor renderer = new EventProcessor(ring, new ObserverEventConsumer(replayed, new Board()),
+                WaitStrategy.sleeping(100000));
+        EventProcessor counter = new EventProcessor(ring, (event, sequence, endOfBatch) -> {
+            events.incrementAndGet();
+            if (endOfBatch) {
+                batches.incrementAndGet();
+            }
+        }, WaitStrategy.yielding());
+        Thread rendererThread = new Thread(renderer);
+        Thread counterThread = new Thread(counter);
+        rendererThread.start();
+        counterThread.start();
+
+        CountingObserver inline = new CountingObserver();
+        GameObserver observer = GameObserver.all(new EventPublisher(ring), inline);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 200; i++) {
+            Player x = new Player(Mark.X, "X", new RandomMoveStrategy(random.split()));
+            Player o = new Player(Mark.O, "O", new RandomMoveStrategy(random.split()));
+            new Game(x, o, new Board(), observer, random.split()).play();
+        }
+        renderer.halt();
+        counter.halt();
+        rendererThread.join();
+        counterThread.join();
+
+        assertEquals(0, ring.getDropped());
+        assertEquals(200, inline.counts[GameEvent.GAME_STARTED]);
+        assertEquals(200, inline.counts[GameEvent.GAME_WON] + inline.counts[GameEvent.GAME_TIED]);
+        for (int type = GameEvent.GAME_STARTED; type <= GameEvent.GAME_TIED; type++) {
+            assertEquals(inline.counts[type], replayed.counts[type]);
+        }
+        assertEquals(0, replayed.inconsistentBoards);
+        assertEquals(ring.getCursor() + 1, events.get());
+        assertEquals(ring.getCursor(), counter.getSequence());
+        assertTrue(batches.get() <= events.get());
+    }
+
+    public void testProducerDropsInsteadOfWaitingForSlowConsumers() throws InterruptedException {
+        EventRingBuffer ring = new EventRingBuffer(8);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+        EventProcessor slow = new EventProcessor(ring, (event, sequence, endOfBatch) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.incrementAndGet();
+        }, WaitStrategy.busySpin());
+        Thread thread = new Thread(slow);
+        thread.start();
+
+        EventPublisher publisher = new EventPublisher(ring);
+        GameEvent first = ring.get(0);
+        for (int i = 0; i < 100; i++) {
+            publisher.gameTied();
+        }
+        assertEquals(92, ring.getDropped());
+        assertEquals(7, ring.getCursor());
+        release.countDown();
+        slow.halt();
+        thread.join();
+        assertEquals(8, handled.get());
+        // slots are reused on the next lap, never reallocated; the gap is reported first
+        publisher.gameStarted();
+        assertSame(first, ring.get(8));
+        assertEquals(GameEvent.EVENTS_DROPPED, first.getType());
+        assertEquals(92, first.getDropped());
+        assertEquals(GameEvent.GAME_STARTED, ring.get(9).getType());
+        assertEquals(0, ring.get(9).getDropped());
+    }
+
+    public void testDroppedEventsDiscardTheRestOfTheGame() throws InterruptedException {
+        EventRingBuffer ring = new EventRingBuffer(8);
+        CountDownLatch release = new CountDownLatch(1);
+        CountingObserver replayed = new CountingObserver();
+        ObserverEventConsumer consumer = new ObserverEventConsumer(replayed, new Board());
+        EventProcessor processor = new EventProcessor(ring, (event, sequence, endOfBatch) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer.onEvent(event, sequence, endOfBatch);
+        }, WaitStrategy.busySpin());
+        Thread thread = new Thread(processor);
+        thread.start();
+
+        EventPublisher publisher = new EventPublisher(ring);
+        Player x = new Player(Mark.X, "X", null);
+        Player o = new Player(Mark.O, "O", null);
+        playScripted(publisher, x, o, ring, processor, release, 0, 3, 1, 4, 6, 7, 2);
+        assertEquals(1, ring.getDropped());
+        // a later game is replayed again
+        playScripted(publisher, x, o, ring, processor, release, 4, 0, 8, 2, 1, 7, 3, 5, 6);
+        processor.halt();
+        thread.join();
+
+        assertEquals(1, consumer.getDiscardedGames());
+        assertEquals(2, replayed.counts[GameEvent.GAME_STARTED]);
+        assertEquals(6 + 9, replayed.counts[GameEvent.MOVE_PLAYED]);
+        assertEquals(0, replayed.counts[GameEvent.GAME_WON]);
+        assertEquals(1, replayed.counts[GameEvent.GAME_TIED]);
+        assertEquals(0, replayed.inconsistentBoards);
+    }
+
+    /**
+     * Publishes a game move by move; the consumer is let go once the moves
+     * are out, and from then on the publisher waits for it after every event
+     */
+    private static void playScripted(EventPublisher publisher, Player x, Player o, EventRingBuffer ring,
+            EventProcessor processor, CountDownLatch release, int... cells) {
+        Board board = new Board();
+        publisher.gameStarted();
+        awaitConsumer(ring, processor, release);
+        publisher.firstPlayerChosen(x);
+        awaitConsumer(ring, processor, release);
+        Player player = x;
+        for (int cell : cells) {
+            board.placeMark(cell, player.getMark());
+            publisher.movePlayed(player, Coordinate.ofCell(cell, 3), board.view());
+            awaitConsumer(ring, processor, release);
+            player = player == x ? o : x;
+        }
+        release.countDown();
+        awaitConsumer(ring, processor, release);
+        if (board.hasWinner()) {
+            publisher.gameWon(board.getWinner() == Mark.X ? x : o);
+        } else {
+            publisher.gameTied();
+        }
+        awaitConsumer(ring, processor, release);
+    }
+
+    private static void awaitConsumer(EventRingBuffer ring, EventProcessor processor, CountDownLatch release) {
+        while (release.getCount() == 0 && processor.getSequence() < ring.getCursor()) {
+            Thread.yield();
+        }
+    }
+
+    public void testResumedGamesRebuildTheReplica() throws InterruptedException {
+        EventRingBuffer ring = new EventRingBuffer(64);
+        CountingObserver replayed = new CountingObserver();
+        Board replica = new Board();
+        EventProcessor processor = new EventProcessor(ring, new ObserverEventConsumer(replayed, replica),
+                WaitStrategy.yielding());
+        Thread thread = new Thread(processor);
+        thread.start();
+
+        Player x = new Player(Mark.X, "X", new RandomMoveStrategy(7));
+        Player o = new Player(Mark.O, "O", new RandomMoveStrategy(8));
+        Board board = new Board();
+        board.placeMark(4, Mark.X);
+        board.placeMark(0, Mark.O);
+        board.placeMark(8, Mark.X);
+        Game game = new Game(x, o, board, new EventPublisher(ring));
+        game.getTurn().setCurrentPlayer(o);
+        game.resume();
+        processor.halt();
+        thread.join();
+
+        assertEquals(3, replayed.resumedMoves);
+        assertEquals(0, replayed.counts[GameEvent.GAME_STARTED]);
+        assertEquals(board.getMoveCount() - 3, replayed.counts[GameEvent.MOVE_PLAYED]);
+        assertEquals(1, replayed.counts[GameEvent.GAME_WON] + replayed.counts[GameEvent.GAME_TIED]);
+        assertEquals(0, replayed.inconsistentBoards);
+        for (int cell = 0; cell < 9; cell++) {
+            assertEquals(board.getMark(cell / 3, cell % 3), replica.getMark(cell / 3, cell % 3));
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package tictactoe.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import junit.framework.TestCase;
+import tictactoe.Game;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+public class GameMetricsTest extends TestCase {
+
+    private final GameMetrics metrics = GameMetrics.getInstance();
+
+    @Override
+    protected void setUp() {
+        metrics.reset();
+    }
+
+    @Override
+    protected void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    private void playGames(int games) {
+        RandomMoveStrategy random = new RandomMoveStrategy(5);
+        // offers a taken square and an invalid one before every legal move
+        int[] attempts = new int[1];
+        Player x = new Player(Mark.X, "X", (board, mark) -> {
+            int attempt = attempts[0]++ % 3;
+            if (attempt == 0 && board.getMoveCount() > 0) {
+                return board.getMove(0);
+            }
+            return attempt == 1 ? 99 : random.chooseMove(board, mark);
+        });
+        Player o = new Player(Mark.O, "O", new RandomMoveStrategy(6));
+        for (int i = 0; i < games; i++) {
+            new Game(x, o, new Board(), GameObserver.NONE).play();
+        }
+    }
+
+    public void testDisabledMetricsRecordNothing() {
+        playGames(10);
+        assertEquals(0, metrics.getGamesStarted());
+        assertEquals(0, metrics.getThinkTime().getCount());
+    }
+
+    public void testCountsGamesMovesAndRejections() throws Exception {
+        metrics.setEnabled(true);
+        playGames(200);
+
+        assertEquals(200, metrics.getGamesStarted());
+        assertEquals(200, metrics.getGamesFinished());
+        assertEquals(0, metrics.getGamesInFlight());
+        assertTrue(metrics.getGamesTied() > 0 && metrics.getGamesTied() < 200);
+        assertTrue(metrics.getSquareTakenRejections() > 0);
+        assertTrue(metrics.getInvalidSquareRejections() > 0);
+        assertEquals(metrics.getMovesPlayed(), metrics.getEngineTime().getCount());
+        assertEquals(metrics.getMovesPlayed() + metrics.getMovesRejected(), metrics.getThinkTime().getCount());
+        assertTrue(metrics.getRejectedMoveRate() > 0 && metrics.getRejectedMoveRate() < 1);
+        assertTrue(metrics.getSnapshot().contains("started=200"));
+
+        metrics.register();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(200L, server.getAttribute(new ObjectName(GameMetrics.OBJECT_NAME), "GamesFinished"));
+    }
+
+    public void testEngineTimeLeavesOutObservers() {
+        metrics.setEnabled(true);
+        Player x = new Player(Mark.X, "X", new RandomMoveStrategy(1));
+        Player o = new Player(Mark.O, "O", new RandomMoveStrategy(2));
+        GameObserver slow = new GameObserver() {
+            @Override
+            public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        new Game(x, o, new Board(), slow).play();
+
+        assertTrue(metrics.getEngineTime().getCount() >= 5);
+        assertTrue(metrics.getEngineTime().getMaxNanos() < 20_000_000L);
+    }
+
+    public void testResumedGamesAreCountedAsFinished() {
+        metrics.setEnabled(true);
+        Player x = new Player(Mark.X, "X", new RandomMoveStrategy(3));
+        Player o = new Player(Mark.O, "O", new RandomMoveStrategy(4));
+        Board board = new Board();
+        board.placeMark(4, Mark.X);
+        board.placeMark(0, Mark.O);
+        Game game = new Game(x, o, board, GameObserver.NONE);
+        game.getTurn().setCurrentPlayer(x);
+        game.resume();
+
+        assertEquals(1, metrics.getGamesStarted());
+        assertEquals(1, metrics.getGamesFinished());
+        assertEquals(0, metrics.getGamesInFlight());
+    }
+
+    public void testHistogramPercentilesStayWithinABucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        long p50 = histogram.getPercentileNanos(0.5);
+        assertTrue(p50 >= 500_000 && p50 < 1_000_000);
+        assertTrue(histogram.getPercentileNanos(1) >= 1_000_000);
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(500_500.0, histogram.getMeanNanos(), 1e-6);
+    }
+
+}
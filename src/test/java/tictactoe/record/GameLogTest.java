@@ -0,0 +1,159 @@
+package tictactoe.record;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+import tictactoe.Game;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+
+public class GameLogTest extends TestCase {
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = Files.createTempFile("games", ".log");
+        Files.delete(file);
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Plays games through the real Game loop and remembers what was logged
+     */
+    private List<String> playAndRecord(int games, long seed) throws IOException {
+        List<String> expected = new ArrayList<String>();
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            GameRecorder recorder = new GameRecorder(writer);
+            Player x = new Player(Mark.X, "X", new RandomMoveStrategy(seed));
+            Player o = new Player(Mark.O, "O", new RandomMoveStrategy(seed + 1));
+            for (int i = 0; i < games; i++) {
+                Board board = new Board();
+                Game game = new Game(x, o, board, recorder);
+                game.play();
+                expected.add(GameLog.outcome(board.getWinner(), board.isGameOver()) + ":" + board.getMoveCount());
+            }
+        }
+        return expected;
+    }
+
+    public void testRoundTripAcrossBlocksAndReopenedFiles() throws IOException {
+        List<String> expected = playAndRecord(30_000, 1);
+        expected.addAll(playAndRecord(20_000, 7));
+        assertTrue(Files.size(file) > 2 * GameLog.BLOCK_SIZE);
+        assertTrue(Files.size(file) < 50_000 * GameLog.MAX_RECORD_SIZE);
+
+        List<String> actual = new ArrayList<String>();
+        try (GameLogReader reader = new GameLogReader(file)) {
+            long games = reader.forEach((firstPlayer, outcome, moves, moveCount) -> actual.add(outcome + ":" + moveCount));
+            assertEquals(expected.size(), games);
+        }
+        assertEquals(expected, actual);
+    }
+
+    public void testReplayRebuildsEveryGame() throws IOException {
+        playAndRecord(10_000, 3);
+        try (GameLogReader reader = new GameLogReader(file)) {
+            GameReplayer replayer = new GameReplayer();
+            long[] ties = new long[1];
+            long replayed = replayer.replay(reader, (board, firstPlayer, outcome) -> {
+                if (outcome == GameLog.TIE) {
+                    assertTrue(board.isBoardFull());
+                    ties[0]++;
+                }
+            });
+            assertEquals(10_000, replayed);
+            assertEquals(0, replayer.getInconsistentGames());
+            assertTrue(ties[0] > 0);
+        }
+    }
+
+    public void testInconsistentGamesAreSkipped() throws IOException {
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            writer.append(Mark.X, new int[] { 0, 3, 1, 4, 2 }, 5, GameLog.X_WINS);
+            writer.append(Mark.X, new int[] { 0, 0 }, 2, GameLog.UNFINISHED);
+            writer.append(Mark.O, new int[] { 4 }, 1, GameLog.TIE);
+        }
+        try (GameLogReader reader = new GameLogReader(file)) {
+            GameReplayer replayer = new GameReplayer();
+            assertEquals(1, replayer.replay(reader, (board, firstPlayer, outcome) -> {
+            }));
+            assertEquals(2, replayer.getInconsistentGames());
+        }
+    }
+
+    private void assertCorrupt(String message) {
+        try (GameLogReader reader = new GameLogReader(file)) {
+            reader.forEach((firstPlayer, outcome, moves, moveCount) -> {
+            });
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+    public void testCorruptRecordsAreReported() throws IOException {
+        playAndRecord(1, 3);
+        byte[] log = Files.readAllBytes(file);
+        int record = GameLog.HEADER_SIZE;
+        int moves = GameLog.moves(log[record]);
+
+        // a 4-bit move count of 15 does not fit a 3x3 game
+        byte[] tooManyMoves = log.clone();
+        tooManyMoves[record] |= 0xF;
+        Files.write(file, tooManyMoves);
+        assertCorrupt("offset " + record);
+
+        // the moves of the record are cut off
+        Files.write(file, java.util.Arrays.copyOf(log, record + GameLog.recordSize(moves) - 1));
+        assertCorrupt("Truncated game log: record at offset " + record);
+    }
+
+    public void testGamesOnOtherBoardsAreSkipped() throws IOException {
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            GameRecorder recorder = new GameRecorder(writer);
+            Player x = new Player(Mark.X, "X", new RandomMoveStrategy(5));
+            Player o = new Player(Mark.O, "O", new RandomMoveStrategy(6));
+            new Game(x, o, new tictactoe.board.MnkBoard(4, 4, 3), recorder).play();
+            // right size, but two in a row would not replay on Board
+            new Game(x, o, new tictactoe.board.MnkBoard(3, 3, 2), recorder).play();
+            new Game(x, o, new Board(), recorder).play();
+            assertEquals(2, recorder.getSkippedGames());
+        }
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertEquals(1, reader.forEach((firstPlayer, outcome, moves, moveCount) -> {
+            }));
+        }
+    }
+
+    public void testResumedGamesKeepTheirEarlierMoves() throws IOException {
+        Board board = new Board();
+        board.placeMark(4, Mark.O);
+        board.placeMark(0, Mark.X);
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            Player x = new Player(Mark.X, "X", new RandomMoveStrategy(5));
+            Player o = new Player(Mark.O, "O", new RandomMoveStrategy(6));
+            Game game = new Game(x, o, board, new GameRecorder(writer));
+            game.getTurn().setCurrentPlayer(o);
+            game.resume();
+        }
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertEquals(1, reader.forEach((firstPlayer, outcome, moves, moveCount) -> {
+                assertEquals(Mark.O, firstPlayer);
+                assertEquals(board.getMoveCount(), moveCount);
+                for (int ply = 0; ply < moveCount; ply++) {
+                    assertEquals(board.getMove(ply), moves[ply]);
+                }
+            }));
+        }
+    }
+}
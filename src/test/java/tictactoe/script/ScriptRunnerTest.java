@@ -0,0 +1,107 @@
+package tictactoe.script;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.BoardView;
+import tictactoe.board.Coordinate;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+import tictactoe.metrics.GameMetrics;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+public class ScriptRunnerTest extends TestCase {
+
+    private static ScriptResult run(String script) throws IOException {
+        return new ScriptRunner(Board::new).run(new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    public void testReplaysScriptedGamesWithBadInput() throws IOException {
+        ScriptResult result = run("# comment line\n"
+                + "X 1 1, 0 1, 0 0, 2 1, 2 2\n"
+                + "\n"
+                + "o 0 0 1 1 0 1 0 2 2 0 1 0 1 2 2 1 2 2   # tie\r\n"
+                + "X 1 1 1 1 a 2 3 0 0 0 0 2 2 2 2 0 \n"
+                + "O 0 0 1 1\n"
+                + "X 0 0 1 0 0 1 1 1 0 2 9 9 9 9");
+        assertEquals(4, result.getGames());
+        assertEquals(1, result.getIncompleteGames());
+        assertEquals(3, result.getWins(Mark.X));
+        assertEquals(1, result.getTies());
+        // taken square, "a 2" and "3 0"
+        assertEquals(3, result.getRejectedMoves());
+        assertEquals(1, result.getMalformedMoves());
+        assertEquals(5 + 9 + 5 + 2 + 5, result.getMovesPlayed());
+    }
+
+    public void testIncompleteGamesLeaveNoGameInFlight() throws IOException {
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            ScriptResult result = run("X 1 1 0 0\nO 0 0 1 1 0 1 0 2 2 0 1 0 1 2 2 1 2 2\n");
+            assertEquals(1, result.getIncompleteGames());
+            assertEquals(2, metrics.getGamesStarted());
+            assertEquals(2, metrics.getGamesFinished());
+            assertEquals(1, metrics.getGamesAborted());
+            assertEquals(0, metrics.getGamesInFlight());
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+
+    public void testObserverFailuresAreNotIncompleteGames() throws IOException {
+        GameObserver failing = new GameObserver() {
+            @Override
+            public void movePlayed(Player player, Coordinate coordinate, BoardView board) {
+                throw new IllegalStateException("observer bug");
+            }
+        };
+        try {
+            new ScriptRunner(Board::new, failing)
+                    .run(new ByteArrayInputStream("X 1 1 0 0\n".getBytes(StandardCharsets.US_ASCII)));
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("observer bug", e.getMessage());
+        }
+    }
+
+    public void testParsesLargeScriptsAcrossBufferRefills() throws IOException {
+        StringBuilder script = new StringBuilder();
+        SplittableRandom random = new SplittableRandom(4);
+        int games = 20_000;
+        long expectedTies = 0;
+        for (int game = 0; game < games; game++) {
+            Board board = new Board();
+            Mark mark = random.nextBoolean() ? Mark.X : Mark.O;
+            script.append(mark);
+            while (!board.isGameOver()) {
+                int cell;
+                do {
+                    cell = random.nextInt(9);
+                } while (!board.isEmpty(cell));
+                board.placeMark(cell, mark);
+                mark = mark.opponent();
+                script.append(' ').append(cell / 3).append(' ').append(cell % 3);
+            }
+            expectedTies += board.hasWinner() ? 0 : 1;
+            script.append('\n');
+        }
+        ScriptResult result = run(script.toString());
+        assertEquals(games, result.getGames());
+        assertEquals(expectedTies, result.getTies());
+        assertEquals(0, result.getRejectedMoves());
+    }
+
+    public void testMovesUseTheBoardColumns() throws IOException {
+        ScriptResult result = new ScriptRunner(() -> new MnkBoard(4, 12, 4))
+                .run(new ByteArrayInputStream("X 0 11 3 0 1 11 3 1 2 11 3 2 3 11\n".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(1, result.getWins(Mark.X));
+    }
+
+}
@@ -0,0 +1,222 @@
+package tictactoe.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import junit.framework.TestCase;
+import tictactoe.ai.PerfectPlayStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.UltimateBoard;
+import tictactoe.player.MoveStrategy;
+
+public class GameServerTest extends TestCase {
+
+    private GameServer server;
+
+    @Override
+    protected void setUp() throws IOException {
+        server = new GameServer(new InetSocketAddress("127.0.0.1", 0), Board::new, new PerfectPlayStrategy());
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        server.close();
+    }
+
+    private SocketChannel connect() throws IOException {
+        return SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()));
+    }
+
+    private static void send(SocketChannel channel, byte opcode, int a, int b) throws IOException {
+        ByteBuffer request = ByteBuffer.wrap(new byte[] { opcode, (byte) a, (byte) b });
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+    }
+
+    private static byte[] receive(SocketChannel channel) throws IOException {
+        ByteBuffer reply = ByteBuffer.allocate(GameProtocol.REPLY_SIZE);
+        while (reply.hasRemaining()) {
+            if (channel.read(reply) < 0) {
+                throw new IOException("closed");
+            }
+        }
+        return reply.array();
+    }
+
+    public void testHotSeatGameIsValidatedByTheBoard() throws IOException {
+        try (SocketChannel channel = connect()) {
+            send(channel, GameProtocol.NEW_GAME, 0, 0);
+            byte[] started = receive(channel);
+            assertEquals(GameProtocol.STARTED, started[0]);
+            assertEquals(3, started[2]);
+            byte first = started[1];
+            byte second = first == GameProtocol.MARK_X ? GameProtocol.MARK_O : GameProtocol.MARK_X;
+
+            int[][] moves = { { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } };
+            for (int i = 0; i < moves.length; i++) {
+                send(channel, GameProtocol.MOVE, moves[i][0], moves[i][1]);
+                byte[] accepted = receive(channel);
+                assertEquals(GameProtocol.ACCEPTED, accepted[0]);
+                assertEquals(i % 2 == 0 ? first : second, accepted[3]);
+                assertEquals(GameProtocol.PLAYING, accepted[4]);
+            }
+
+            send(channel, GameProtocol.MOVE, 1, 1);
+            assertEquals(GameProtocol.SQUARE_TAKEN, receive(channel)[1]);
+            send(channel, GameProtocol.MOVE, 3, 0);
+            assertEquals(GameProtocol.INVALID_SQUARE, receive(channel)[1]);
+
+            send(channel, GameProtocol.MOVE, 0, 2);
+            byte[] won = receive(channel);
+            assertEquals(first == GameProtocol.MARK_X ? GameProtocol.X_WINS : GameProtocol.O_WINS, won[4]);
+            send(channel, GameProtocol.MOVE, 2, 2);
+            assertEquals(GameProtocol.GAME_OVER, receive(channel)[1]);
+        }
+    }
+
+    public void testServerPlayerNeverLoses() throws IOException {
+        try (SocketChannel channel = connect()) {
+            for (int game = 0; game < 20; game++) {
+                send(channel, GameProtocol.NEW_GAME, GameProtocol.MARK_X, 0);
+                byte[] reply = receive(channel);
+                if (reply[1] == GameProtocol.MARK_O) {
+                    reply = receive(channel);
+                    assertEquals(GameProtocol.OPPONENT, reply[0]);
+                }
+                boolean[] taken = new boolean[9];
+                byte status = GameProtocol.PLAYING;
+                while (status == GameProtocol.PLAYING) {
+                    if (reply[0] == GameProtocol.OPPONENT) {
+                        taken[reply[1] * 3 + reply[2]] = true;
+                    }
+                    int cell = 0;
+                    while (taken[cell]) {
+                        cell++;
+                    }
+                    taken[cell] = true;
+                    send(channel, GameProtocol.MOVE, cell / 3, cell % 3);
+                    reply = receive(channel);
+                    status = reply[4];
+                    if (status == GameProtocol.PLAYING) {
+                        reply = receive(channel);
+                        assertEquals(GameProtocol.OPPONENT, reply[0]);
+                        status = reply[4];
+                    }
+                }
+                assertTrue(status == GameProtocol.O_WINS || status == GameProtocol.TIE);
+            }
+        }
+    }
+
+    public void testManyConcurrentSessions() throws Exception {
+        SocketChannel[] channels = new SocketChannel[500];
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] = connect();
+                send(channels[i], GameProtocol.NEW_GAME, 0, 0);
+            }
+            for (SocketChannel channel : channels) {
+                assertEquals(GameProtocol.STARTED, receive(channel)[0]);
+                send(channel, GameProtocol.MOVE, 1, 1);
+            }
+            for (SocketChannel channel : channels) {
+                assertEquals(GameProtocol.ACCEPTED, receive(channel)[0]);
+            }
+            assertEquals(channels.length, server.getSessionCount());
+        } finally {
+            for (SocketChannel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    public void testSlowServerPlayerDoesNotStallOtherGames() throws Exception {
+        MoveStrategy slow = (board, mark) -> {
+            try {
+                Thread.sleep(1500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return board.nextEmptyCell(0);
+        };
+        GameServer slowServer = new GameServer(new InetSocketAddress("127.0.0.1", 0), Board::new, slow);
+        slowServer.start();
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", slowServer.getPort());
+        try (SocketChannel thinking = SocketChannel.open(address);
+                SocketChannel hotSeat = SocketChannel.open(address)) {
+            send(thinking, GameProtocol.NEW_GAME, GameProtocol.MARK_X, 0);
+            if (receive(thinking)[1] == GameProtocol.MARK_X) {
+                send(thinking, GameProtocol.MOVE, 1, 1);
+                assertEquals(GameProtocol.ACCEPTED, receive(thinking)[0]);
+            }
+            // the server is now searching for 1.5 s
+
+            long start = System.nanoTime();
+            send(hotSeat, GameProtocol.NEW_GAME, 0, 0);
+            assertEquals(GameProtocol.STARTED, receive(hotSeat)[0]);
+            send(hotSeat, GameProtocol.MOVE, 0, 0);
+            assertEquals(GameProtocol.ACCEPTED, receive(hotSeat)[0]);
+            assertTrue(System.nanoTime() - start < 1_000_000_000L);
+
+            send(thinking, GameProtocol.MOVE, 2, 2);
+            byte[] rejected = receive(thinking);
+            assertEquals(GameProtocol.REJECTED, rejected[0]);
+            assertEquals(GameProtocol.NOT_YOUR_TURN, rejected[1]);
+            assertEquals(GameProtocol.OPPONENT, receive(thinking)[0]);
+        } finally {
+            slowServer.close();
+        }
+    }
+
+    public void testThrowingServerPlayerFallsBackToALegalMove() throws Exception {
+        MoveStrategy broken = (board, mark) -> {
+            throw new IllegalStateException("broken strategy");
+        };
+        GameServer brokenServer = new GameServer(new InetSocketAddress("127.0.0.1", 0), Board::new, broken);
+        brokenServer.start();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", brokenServer.getPort()))) {
+            send(channel, GameProtocol.NEW_GAME, GameProtocol.MARK_X, 0);
+            if (receive(channel)[1] == GameProtocol.MARK_X) {
+                send(channel, GameProtocol.MOVE, 1, 1);
+                assertEquals(GameProtocol.ACCEPTED, receive(channel)[0]);
+            }
+            byte[] opponent = receive(channel);
+            assertEquals(GameProtocol.OPPONENT, opponent[0]);
+            assertEquals(0, opponent[1]);
+            assertEquals(0, opponent[2]);
+            // the game goes on instead of answering every move with NOT_YOUR_TURN
+            send(channel, GameProtocol.MOVE, 2, 2);
+            assertEquals(GameProtocol.ACCEPTED, receive(channel)[0]);
+        } finally {
+            brokenServer.close();
+        }
+    }
+
+    public void testUltimateMovesOutsideTheForcedBoardAreWrongBoard() throws IOException {
+        GameServer ultimate = new GameServer(new InetSocketAddress("127.0.0.1", 0), UltimateBoard::new,
+                new PerfectPlayStrategy());
+        ultimate.start();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", ultimate.getPort()))) {
+            send(channel, GameProtocol.NEW_GAME, 0, 0);
+            assertEquals(9, receive(channel)[2]);
+            // the middle left square of the center sub-board sends the opponent to the middle left one
+            send(channel, GameProtocol.MOVE, 4, 3);
+            assertEquals(GameProtocol.ACCEPTED, receive(channel)[0]);
+            send(channel, GameProtocol.MOVE, 4, 4);
+            byte[] rejected = receive(channel);
+            assertEquals(GameProtocol.REJECTED, rejected[0]);
+            assertEquals(GameProtocol.WRONG_BOARD, rejected[1]);
+            send(channel, GameProtocol.MOVE, 9, 0);
+            assertEquals(GameProtocol.INVALID_SQUARE, receive(channel)[1]);
+            send(channel, GameProtocol.MOVE, 3, 0);
+            assertEquals(GameProtocol.ACCEPTED, receive(channel)[0]);
+        } finally {
+            ultimate.close();
+        }
+    }
+}
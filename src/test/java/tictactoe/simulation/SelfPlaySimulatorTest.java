@@ -0,0 +1,49 @@
+package tictactoe.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import junit.framework.TestCase;
+import tictactoe.ai.PerfectPlayStrategy;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+
+public class SelfPlaySimulatorTest extends TestCase {
+
+    public void testRandomGamesAreCounted() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(Board::new, RandomMoveStrategy::new,
+                RandomMoveStrategy::new);
+        SimulationResult result = simulator.run(50_000);
+        assertEquals(50_000, result.getGames());
+        assertEquals(result.getGames(), result.getWins(Mark.X) + result.getWins(Mark.O) + result.getTies());
+        assertEquals(result.getGames(), result.getFirstMoves(Mark.X) + result.getFirstMoves(Mark.O));
+        long lengths = 0;
+        for (int moves = 0; moves <= 9; moves++) {
+            lengths += result.getGamesOfLength(moves);
+        }
+        assertEquals(result.getGames(), lengths);
+        assertEquals(0, result.getGamesOfLength(4));
+        assertTrue(result.getGamesPerSecond() > 0);
+    }
+
+    public void testPerfectPlayersAlwaysTie() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(Board::new, seed -> new PerfectPlayStrategy(),
+                seed -> new PerfectPlayStrategy(), new ForkJoinPool(2), 42);
+        SimulationResult result = simulator.run(10_000);
+        assertEquals(10_000, result.getTies());
+        assertEquals(10_000, result.getGamesOfLength(9));
+    }
+
+    public void testSeededRunsRepeatOnAnyPool() {
+        SimulationResult first = new SelfPlaySimulator(Board::new, RandomMoveStrategy::new, RandomMoveStrategy::new,
+                new ForkJoinPool(1), 7).run(20_000);
+        SimulationResult second = new SelfPlaySimulator(Board::new, RandomMoveStrategy::new, RandomMoveStrategy::new,
+                new ForkJoinPool(4), 7).run(20_000);
+        for (Mark mark : new Mark[] { Mark.X, Mark.O }) {
+            assertEquals(first.getWins(mark), second.getWins(mark));
+            assertEquals(first.getFirstMoves(mark), second.getFirstMoves(mark));
+        }
+        for (int moves = 0; moves <= 9; moves++) {
+            assertEquals(first.getGamesOfLength(moves), second.getGamesOfLength(moves));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package tictactoe.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import junit.framework.TestCase;
+import tictactoe.Game;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+import tictactoe.board.MnkBoard;
+import tictactoe.board.UltimateBoard;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+public class GameSnapshotTest extends TestCase {
+
+    private static final BiFunction<Mark, String, Player> RANDOM_PLAYERS = (mark, name) -> new Player(mark, name,
+            new RandomMoveStrategy(name.hashCode()));
+
+    /**
+     * A game suspended after some random moves, with the next player to move
+     */
+    private static Game suspended(GameBoard board, int moves, long seed) {
+        Player x = RANDOM_PLAYERS.apply(Mark.X, "Zo\u00eb");
+        Player o = RANDOM_PLAYERS.apply(Mark.O, "Bob");
+        SplittableRandom random = new SplittableRandom(seed);
+        Mark toMove = Mark.X;
+        for (int i = 0; i < moves && !board.isGameOver(); i++) {
+            board.placeMark(new RandomMoveStrategy(random.split()).chooseMove(board, toMove), toMove);
+            toMove = toMove.opponent();
+        }
+        Game game = new Game(o, x, board, GameObserver.NONE);
+        game.getTurn().setCurrentPlayer(toMove == Mark.X ? x : o);
+        return game;
+    }
+
+    private static void assertSameGame(Game expected, Game actual) {
+        GameBoard board = expected.getBoard();
+        GameBoard restored = actual.getBoard();
+        assertEquals(board.getClass(), restored.getClass());
+        assertEquals(board.getMoveCount(), restored.getMoveCount());
+        for (int ply = 0; ply < board.getMoveCount(); ply++) {
+            assertEquals(board.getMove(ply), restored.getMove(ply));
+        }
+        assertEquals(board.getHash(), restored.getHash());
+        assertEquals(board.getWinner(), restored.getWinner());
+        assertEquals(expected.getPlayer1().getName(), actual.getPlayer1().getName());
+        assertEquals(expected.getPlayer1().getMark(), actual.getPlayer1().getMark());
+        assertEquals(expected.getPlayer2().getName(), actual.getPlayer2().getName());
+        assertEquals(expected.getTurn().getCurrentPlayer().getMark(), actual.getTurn().getCurrentPlayer().getMark());
+    }
+
+    private static Game roundTrip(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.size(game) + 3);
+        buffer.position(3);
+        GameSnapshot.write(game, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.position(3);
+        Game restored = GameSnapshot.read(buffer, RANDOM_PLAYERS, GameObserver.NONE);
+        assertFalse(buffer.hasRemaining());
+        return restored;
+    }
+
+    public void testRestoresAndResumesASuspendedGame() {
+        Game game = suspended(new Board(), 4, 1);
+        assertTrue(GameSnapshot.size(game) < 30);
+        Game restored = roundTrip(game);
+        assertSameGame(game, restored);
+        restored.resume();
+        assertTrue(restored.getBoard().isGameOver());
+        // undo history survives the snapshot
+        int moves = restored.getBoard().getMoveCount();
+        assertEquals(moves, countUndos(restored.getBoard()));
+        assertEquals(0, restored.getBoard().getMoveCount());
+    }
+
+    private static int countUndos(GameBoard board) {
+        int undos = 0;
+        while (board.undoMove() >= 0) {
+            undos++;
+        }
+        return undos;
+    }
+
+    public void testRestoresEveryBoardKind() {
+        assertSameGame(suspended(new Board(), 9, 2), roundTrip(suspended(new Board(), 9, 2)));
+        // more than 256 squares, so moves take two bytes
+        Game gomoku = suspended(new MnkBoard(19, 19, 5), 40, 3);
+        assertSameGame(gomoku, roundTrip(gomoku));
+        Game ultimate = suspended(new UltimateBoard(), 30, 4);
+        Game restored = roundTrip(ultimate);
+        assertSameGame(ultimate, restored);
+        assertEquals(((UltimateBoard) ultimate.getBoard()).getForcedBoard(),
+                ((UltimateBoard) restored.getBoard()).getForcedBoard());
+    }
+
+    public void testRejectsUnknownVersions() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        GameSnapshot.write(suspended(new Board(), 2, 5), buffer);
+        buffer.put(0, (byte) 99).flip();
+        try {
+            GameSnapshot.read(buffer, RANDOM_PLAYERS, GameObserver.NONE);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("99"));
+        }
+    }
+
+    public void testPagesManyGamesThroughAFile() throws IOException {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            games.add(suspended(i % 10 == 0 ? new MnkBoard(15, 15, 5) : new Board(), i % 9, i));
+        }
+        Path file = Files.createTempFile("snapshots", ".bin");
+        try {
+            GameSnapshotFile.write(file, games);
+            List<Game> restored = GameSnapshotFile.read(file, RANDOM_PLAYERS, GameObserver.NONE);
+            assertEquals(games.size(), restored.size());
+            for (int i = 0; i < games.size(); i++) {
+                assertSameGame(games.get(i), restored.get(i));
+            }
+
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[4] = 99;
+            Files.write(file, bytes);
+            try {
+                GameSnapshotFile.read(file, RANDOM_PLAYERS, GameObserver.NONE);
+                fail();
+            } catch (IOException e) {
+                // expected
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package tictactoe.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import junit.framework.TestCase;
+import tictactoe.Game;
+import tictactoe.ai.PerfectPlayStrategy;
+import tictactoe.ai.RandomMoveStrategy;
+import tictactoe.board.Board;
+import tictactoe.board.Mark;
+import tictactoe.player.Player;
+import tictactoe.turns.GameObserver;
+
+public class TournamentTest extends TestCase {
+
+    private static List<Entrant> entrants() {
+        return Arrays.asList(new Entrant("random-1", RandomMoveStrategy::new),
+                new Entrant("random-2", RandomMoveStrategy::new), new Entrant("random-3", RandomMoveStrategy::new),
+                new Entrant("perfect", seed -> new PerfectPlayStrategy()));
+    }
+
+    private static List<String> run(long seed, int threads, boolean swiss) {
+        Tournament tournament = new Tournament(entrants(), Board::new, 50, new ForkJoinPool(threads), seed,
+                Tournament.DEFAULT_K);
+        List<String> streamed = new ArrayList<String>();
+        tournament.setListener(result -> streamed.add(result.toString()));
+        EloRatings ratings = swiss ? tournament.swiss(3) : tournament.roundRobin();
+        assertEquals(tournament.getResults().size(), streamed.size());
+        streamed.add(ratings.table(tournament.getEntrants()));
+        return streamed;
+    }
+
+    public void testSameSeedReplaysTheSameTournament() {
+        List<String> first = run(11, 4, false);
+        assertEquals(first, run(11, 1, false));
+        assertFalse(first.equals(run(12, 4, false)));
+        assertEquals(run(5, 3, true), run(5, 2, true));
+    }
+
+    public void testPerfectPlayerTopsTheRatings() {
+        Tournament tournament = new Tournament(entrants(), Board::new, 100, 3);
+        EloRatings ratings = tournament.roundRobin();
+        assertEquals(6, tournament.getResults().size());
+        for (MatchResult result : tournament.getResults()) {
+            if (result.getSecond() == 3) {
+                assertEquals(0, result.count(MatchResult.FIRST_WINS));
+            }
+        }
+        for (int player = 0; player < 3; player++) {
+            assertTrue(ratings.getRating(3) - ratings.getMargin(3) > ratings.getRating(player));
+            assertEquals(300, ratings.getGames(player));
+        }
+        double total = 0;
+        for (int player = 0; player < 4; player++) {
+            total += ratings.getRating(player);
+        }
+        assertEquals(4 * EloRatings.INITIAL_RATING, total, 1e-6);
+    }
+
+    public void testSwissRoundsAvoidRematches() {
+        Tournament tournament = new Tournament(entrants(), Board::new, 10, 7);
+        tournament.swiss(3);
+        assertEquals(6, tournament.getResults().size());
+        boolean[][] met = new boolean[4][4];
+        for (MatchResult result : tournament.getResults()) {
+            assertFalse(met[result.getFirst()][result.getSecond()]);
+            met[result.getFirst()][result.getSecond()] = true;
+            met[result.getSecond()][result.getFirst()] = true;
+        }
+    }
+
+    public void testFirstPlayerIsChosenOncePerGame() {
+        int[] chosen = new int[1];
+        GameObserver counter = new GameObserver() {
+            @Override
+            public void firstPlayerChosen(Player player) {
+                chosen[0]++;
+            }
+        };
+        Player x = new Player(Mark.X, "X", new RandomMoveStrategy(1));
+        Player o = new Player(Mark.O, "O", new RandomMoveStrategy(2));
+        new Game(x, o, new Board(), counter, new SplittableRandom(9)).play();
+        assertEquals(1, chosen[0]);
+    }
+
+}
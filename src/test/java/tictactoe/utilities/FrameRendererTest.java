@@ -0,0 +1,61 @@
+package tictactoe.utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import junit.framework.TestCase;
+import tictactoe.board.Board;
+import tictactoe.board.Coordinate;
+import tictactoe.board.GameBoard;
+import tictactoe.board.Mark;
+
+public class FrameRendererTest extends TestCase {
+
+    private ByteArrayOutputStream bytes;
+
+    private FrameRenderer renderer(boolean ansi) {
+        bytes = new ByteArrayOutputStream();
+        return new FrameRenderer(new PrintStream(bytes, true), ansi);
+    }
+
+    private String written() {
+        String text = bytes.toString();
+        bytes.reset();
+        return text;
+    }
+
+    public void testFrameMatchesConsoleLayout() {
+        FrameRenderer renderer = renderer(false);
+        Board board = new Board();
+        board.setMark(new Coordinate(1, 1), Mark.X);
+        renderer.line("Player X turn").board(board).error("Square already taken").flush();
+        assertEquals("Player X turn\n_ _ _ \n_ X _ \n_ _ _ \nERROR: Square already taken\n", written());
+    }
+
+    public void testRedrawOnlyRewritesChangedLines() {
+        FrameRenderer renderer = renderer(true);
+        Board board = new Board();
+        renderer.line("Game 1").board(board).redraw();
+        assertTrue(written().startsWith("\u001B[2J\u001B[H"));
+
+        board.setMark(new Coordinate(2, 0), Mark.O);
+        renderer.line("Game 1").board(board).redraw();
+        String diff = written();
+        assertTrue(diff.contains("\u001B[4;1HO _ _ "));
+        assertFalse(diff.contains("Game 1"));
+        assertFalse(diff.contains("\u001B[2;1H"));
+
+        renderer.line("Game 1").board(board).redraw();
+        assertEquals("\u001B[5;1H\u001B[J", written());
+    }
+
+    public void testDashboardPlacesBoardsSideBySide() {
+        FrameRenderer renderer = renderer(false);
+        GameBoard[] boards = { new Board(), new Board(), new Board() };
+        boards[1].setMark(new Coordinate(0, 0), Mark.X);
+        renderer.dashboard(boards, null, 2).flush();
+        String[] lines = written().split("\n", -1);
+        assertEquals("#1       #2", lines[0]);
+        assertEquals("_ _ _    X _ _ ", lines[1]);
+        assertEquals("#3", lines[5]);
+    }
+}